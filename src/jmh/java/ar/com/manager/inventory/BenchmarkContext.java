@@ -0,0 +1,29 @@
+package ar.com.manager.inventory;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application for the benchmarks with the benchmark profile: embedded H2 database
+ * and no Config Server or Eureka, so they run offline.
+ */
+public final class BenchmarkContext {
+    private BenchmarkContext() {}
+
+    public static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE);
+    }
+
+    /**
+     * Method to start the application, with the web server on a random port when the type is SERVLET
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(BackEndInventoryManagerApplication.class)
+                .profiles("benchmark")
+                .web(webApplicationType)
+                //Read before the profile files, so the configserver: import of application.yml is skipped
+                .properties("spring.cloud.config.enabled=false", "server.port=0")
+                .run();
+    }
+}
@@ -0,0 +1,186 @@
+package ar.com.manager.inventory.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Populates an empty database with users, suppliers, clients, products, sales and sale details through
+ * batched JDBC inserts. The same settings and seed always produce the same rows. Products are sold following
+ * a Zipf distribution, so a few hot SKUs concentrate most of the sale lines.
+ * Ids are assigned in insertion order, so the tables must be empty when it runs.
+ */
+public class InventoryDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryDataGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+    //Sales are spread over the year before this date, so the data does not depend on the day it is generated
+    private static final LocalDateTime LAST_SALE = LocalDateTime.of(2025, 12, 31, 23, 59, 59);
+    private static final int INITIAL_STOCK = 1_000_000_000;
+    //Change feed timestamp of the generated catalog
+    private static final Timestamp LAST_CHANGE = Timestamp.valueOf(LAST_SALE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadSettings settings;
+    private final Random random;
+    private double[] prices;
+    private int[] productsByPopularity;
+    private double[] popularity;
+
+    public InventoryDataGenerator(JdbcTemplate jdbcTemplate, LoadSettings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    public void generate() {
+        long start = System.currentTimeMillis();
+        insertUsers();
+        insertSuppliers();
+        insertClients();
+        insertProducts();
+        insertSales();
+        log.warn("Generated {} users, {} suppliers, {} clients, {} products and {} sales in {} ms",
+                settings.getUsers(), settings.getSuppliers(), settings.getClients(), settings.getProducts(),
+                settings.getSales(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Method to pick a product id, the most popular ones being the most likely
+     */
+    public int hotProductId(Random random) {
+        int rank = Arrays.binarySearch(popularity, random.nextDouble());
+        rank = rank >= 0 ? rank : Math.min(-rank - 1, popularity.length - 1);
+        return productsByPopularity[rank];
+    }
+
+    private void insertUsers() {
+        String sql = "INSERT INTO users (first_name, last_name, user_name, password, phone_number, email, type, enabled, deleted, updated_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getUsers(); i++) {
+            rows.add(new Object[]{"User" + i, "Load", "user" + i, "secret", String.format("11%08d", i),
+                    "user" + i + "@example.com", i == 1 ? "ADMIN" : "SELLER", true, false, LAST_CHANGE});
+            rows = flushIfFull(sql, rows);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        checkIds("users", settings.getUsers());
+    }
+
+    private void insertSuppliers() {
+        String sql = "INSERT INTO suppliers (first_name, last_name, phone_number, email, company, deleted, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getSuppliers(); i++) {
+            rows.add(new Object[]{"Supplier" + i, "Load", String.format("15%08d", i), "supplier" + i + "@example.com",
+                    "Company " + i, false, LAST_CHANGE});
+            rows = flushIfFull(sql, rows);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        checkIds("suppliers", settings.getSuppliers());
+    }
+
+    private void insertClients() {
+        String sql = "INSERT INTO clients (first_name, last_name, dni, deleted, updated_at, version) VALUES (?, ?, ?, ?, ?, 0)";
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getClients(); i++) {
+            rows.add(new Object[]{"Client" + i, "Load", String.valueOf(20_000_000 + i), false, LAST_CHANGE});
+            rows = flushIfFull(sql, rows);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        checkIds("clients", settings.getClients());
+    }
+
+    private void insertProducts() {
+        int products = settings.getProducts();
+        prices = new double[products + 1];
+        String sql = "INSERT INTO products (number, name, stock, bar_code, price, description, category, deleted, user_id, supplier_id, updated_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= products; i++) {
+            prices[i] = Math.round((1 + random.nextDouble() * 999) * 100) / 100.0;
+            String category = "Category " + (1 + random.nextInt(settings.getCategories()));
+            rows.add(new Object[]{"PROD-" + i, "Product " + i + " " + category, INITIAL_STOCK, String.valueOf(100_000_000_000L + i),
+                    prices[i], "Load test product " + i, category, false, 1 + random.nextInt(settings.getUsers()),
+                    1 + random.nextInt(settings.getSuppliers()), LAST_CHANGE});
+            rows = flushIfFull(sql, rows);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        checkIds("products", products);
+
+        //Zipf weights by popularity rank, the ranks assigned to random products
+        productsByPopularity = new int[products];
+        for (int i = 0; i < products; i++) {
+            productsByPopularity[i] = i + 1;
+        }
+        for (int i = products - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = productsByPopularity[i];
+            productsByPopularity[i] = productsByPopularity[j];
+            productsByPopularity[j] = swap;
+        }
+        popularity = new double[products];
+        double total = 0;
+        for (int rank = 0; rank < products; rank++) {
+            total += 1 / Math.pow(rank + 1, settings.getSkew());
+            popularity[rank] = total;
+        }
+        for (int rank = 0; rank < products; rank++) {
+            popularity[rank] /= total;
+        }
+    }
+
+    private void insertSales() {
+        String saleSql = "INSERT INTO sales (sale_date, total_price, deleted, user_id, client_id, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+        String detailSql = "INSERT INTO sale_details (amount, deleted, product_id, sale_id) VALUES (?, ?, ?, ?)";
+        long secondsInYear = 365L * 24 * 60 * 60;
+        List<Object[]> sales = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> details = new ArrayList<>(BATCH_SIZE * settings.getDetailsPerSale());
+        for (int saleId = 1; saleId <= settings.getSales(); saleId++) {
+            int lines = 1 + random.nextInt(2 * settings.getDetailsPerSale() - 1);
+            double total = 0;
+            for (int line = 0; line < lines; line++) {
+                int productId = hotProductId(random);
+                int amount = 1 + random.nextInt(5);
+                total += amount * prices[productId];
+                details.add(new Object[]{amount, false, productId, saleId});
+            }
+            LocalDateTime saleDate = LAST_SALE.minusSeconds((long) (random.nextDouble() * secondsInYear));
+            //One sale in ten has no client
+            Integer clientId = random.nextInt(10) == 0 ? null : 1 + random.nextInt(settings.getClients());
+            sales.add(new Object[]{Timestamp.valueOf(saleDate), total, false, 1 + random.nextInt(settings.getUsers()), clientId,
+                    Timestamp.valueOf(saleDate)});
+            if (sales.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(saleSql, sales);
+                jdbcTemplate.batchUpdate(detailSql, details);
+                sales.clear();
+                details.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(saleSql, sales);
+        jdbcTemplate.batchUpdate(detailSql, details);
+        checkIds("sales", settings.getSales());
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() < BATCH_SIZE) {
+            return rows;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return new ArrayList<>();
+    }
+
+    private void checkIds(String table, int expected) {
+        Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Integer.class);
+        if (maxId == null || maxId != expected) {
+            throw new IllegalStateException("The table " + table + " must be empty before generating data, last id is " + maxId);
+        }
+    }
+}
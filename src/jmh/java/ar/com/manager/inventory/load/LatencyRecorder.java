@@ -0,0 +1,55 @@
+package ar.com.manager.inventory.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint in nanoseconds. Each worker has its own recorders, merged at the end.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public void record(long nanos, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i], false);
+        }
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Method to get, for each percentage, the latency in milliseconds below which that percentage of the requests completed
+     */
+    public double[] percentiles(double... percentages) {
+        double[] values = new double[percentages.length];
+        if (count == 0) {
+            return values;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentages.length; i++) {
+            int index = (int) Math.ceil(percentages[i] / 100 * count) - 1;
+            values[i] = sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,221 @@
+package ar.com.manager.inventory.load;
+
+import ar.com.manager.inventory.BenchmarkContext;
+import ar.com.manager.inventory.index.ProductBarCodeIndex;
+import ar.com.manager.inventory.index.ProductFacetIndex;
+import ar.com.manager.inventory.index.ProductSearchIndex;
+import ar.com.manager.inventory.repository.SalesDailyRollupRepository;
+import ar.com.manager.inventory.stock.LowStockMonitor;
+import ar.com.manager.inventory.stock.StockReservationLedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Starts the application against an embedded H2 database, fills it with InventoryDataGenerator and replays
+ * a mix of requests to the five controllers from several concurrent workers. At the end it prints, for each
+ * endpoint, the number of requests, errors and latency percentiles, and optionally writes them as CSV.
+ * Each worker draws its requests from its own seeded Random, so the request sequence is reproducible.
+ */
+public class LoadDriver {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+    private final LoadSettings settings;
+    private final InventoryDataGenerator generator;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final int totalWeight;
+
+    public LoadDriver(LoadSettings settings, InventoryDataGenerator generator, String baseUrl) {
+        this.settings = settings;
+        this.generator = generator;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        defineEndpoints();
+        this.totalWeight = endpoints.values().stream().mapToInt(endpoint -> endpoint.weight).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.parse(args);
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(WebApplicationType.SERVLET)) {
+            InventoryDataGenerator generator = new InventoryDataGenerator(context.getBean(JdbcTemplate.class), settings);
+            generator.generate();
+            //The rollup and the in-memory indexes were built on startup, before the data existed
+            context.getBean(SalesDailyRollupRepository.class).rebuild();
+            context.getBean(ProductBarCodeIndex.class).build();
+            context.getBean(ProductSearchIndex.class).build();
+            context.getBean(ProductFacetIndex.class).build();
+            context.getBean(LowStockMonitor.class).build();
+            context.getBeanProvider(StockReservationLedger.class).ifAvailable(StockReservationLedger::reconcile);
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            Map<String, LatencyRecorder> results = new LoadDriver(settings, generator, "http://localhost:" + port).run();
+            report(results, settings);
+            checkStatementBudgets(context.getBean(MeterRegistry.class));
+        }
+    }
+
+    private void defineEndpoints() {
+        String sale = "{\"userId\":%d,\"clientId\":%d,\"saleDetail\":[{\"amount\":%d,\"product\":{\"id\":%d}},{\"amount\":%d,\"product\":{\"id\":%d}}]}";
+        endpoint("GET /products/{id}", 15, random -> get("/products/" + generator.hotProductId(random)));
+        endpoint("GET /products/barcode/{barCode}", 5, random -> get("/products/barcode/" + (100_000_000_000L + generator.hotProductId(random))));
+        endpoint("GET /products/search", 5, random -> get("/products/search?limit=20&q=category+" + (1 + random.nextInt(settings.getCategories()))));
+        endpoint("GET /products", 4, random -> get("/products?limit=100&after=" + random.nextInt(settings.getProducts())));
+        endpoint("POST /sales", 20, random -> post("/sales", String.format(sale,
+                1 + random.nextInt(settings.getUsers()), 1 + random.nextInt(settings.getClients()),
+                1 + random.nextInt(3), generator.hotProductId(random), 1 + random.nextInt(3), generator.hotProductId(random))));
+        endpoint("GET /sales/{id}", 10, random -> get("/sales/" + (1 + random.nextInt(Math.max(settings.getSales(), 1)))));
+        endpoint("GET /sales", 4, random -> get("/sales?limit=100&after=" + random.nextInt(Math.max(settings.getSales(), 1))));
+        endpoint("GET /sales/client/{clientId}", 5, random -> get("/sales/client/" + (1 + random.nextInt(settings.getClients()))));
+        endpoint("GET /sales/summary", 4, random -> {
+            int month = 1 + random.nextInt(12);
+            return get(String.format("/sales/summary?startDate=01/%02d/2025&endDate=28/%02d/2025", month, month));
+        });
+        endpoint("GET /clients/{id}", 10, random -> get("/clients/" + (1 + random.nextInt(settings.getClients()))));
+        endpoint("GET /clients", 3, random -> get("/clients?limit=100&after=" + random.nextInt(settings.getClients())));
+        endpoint("GET /suppliers/{id}", 5, random -> get("/suppliers/" + (1 + random.nextInt(settings.getSuppliers()))));
+        endpoint("GET /suppliers", 2, random -> get("/suppliers?limit=100"));
+        endpoint("GET /users/{id}", 6, random -> get("/users/" + (1 + random.nextInt(settings.getUsers()))));
+        endpoint("GET /users", 2, random -> get("/users?limit=100"));
+    }
+
+    public Map<String, LatencyRecorder> run() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getThreads());
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int worker = 0; worker < settings.getThreads(); worker++) {
+            Random random = new Random(settings.getSeed() + worker);
+            futures.add(workers.submit(() -> work(random, measureFrom, end)));
+        }
+        Map<String, LatencyRecorder> results = new LinkedHashMap<>();
+        endpoints.keySet().forEach(name -> results.put(name, new LatencyRecorder()));
+        for (Future<Map<String, LatencyRecorder>> future : futures) {
+            future.get().forEach((name, recorder) -> results.get(name).merge(recorder));
+        }
+        workers.shutdown();
+        return results;
+    }
+
+    private Map<String, LatencyRecorder> work(Random random, long measureFrom, long end) {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        endpoints.keySet().forEach(name -> recorders.put(name, new LatencyRecorder()));
+        while (System.nanoTime() < end) {
+            Map.Entry<String, Endpoint> endpoint = pick(random);
+            HttpRequest request = endpoint.getValue().request.apply(random);
+            long start = System.nanoTime();
+            boolean error;
+            try {
+                error = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= measureFrom) {
+                recorders.get(endpoint.getKey()).record(System.nanoTime() - start, error);
+            }
+        }
+        return recorders;
+    }
+
+    private Map.Entry<String, Endpoint> pick(Random random) {
+        int target = random.nextInt(totalWeight);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            target -= entry.getValue().weight;
+            if (target < 0) {
+                return entry;
+            }
+        }
+        throw new IllegalStateException("No endpoint for the drawn weight");
+    }
+
+    private static void report(Map<String, LatencyRecorder> results, LoadSettings settings) throws IOException {
+        double seconds = settings.getDuration().toMillis() / 1000.0;
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        System.out.printf("%n%-32s %9s %7s %9s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((name, recorder) -> {
+            double[] latencies = recorder.percentiles(PERCENTILES);
+            System.out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, recorder.getCount(),
+                    recorder.getErrors(), recorder.getCount() / seconds, latencies[0], latencies[1], latencies[2],
+                    latencies[3], latencies[4]);
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f", name, recorder.getCount(),
+                    recorder.getErrors(), recorder.getCount() / seconds, latencies[0], latencies[1], latencies[2],
+                    latencies[3], latencies[4]));
+        });
+        if (settings.getReport() != null) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(settings.getReport())))) {
+                lines.forEach(writer::println);
+            }
+        }
+    }
+
+    /**
+     * Method to fail the run when any route went over its SQL statement budget (inventory.sql-budget)
+     */
+    private static void checkStatementBudgets(MeterRegistry meterRegistry) {
+        List<String> overBudget = new ArrayList<>();
+        for (Counter counter : meterRegistry.find("inventory.http.statements.over.budget").counters()) {
+            overBudget.add(String.format("%s %s: %d requests", counter.getId().getTag("method"),
+                    counter.getId().getTag("uri"), (long) counter.count()));
+        }
+        if (!overBudget.isEmpty()) {
+            throw new IllegalStateException("Requests over their SQL statement budget: " + String.join(", ", overBudget));
+        }
+    }
+
+    private void endpoint(String name, int weight, Function<Random, HttpRequest> request) {
+        endpoints.put(name, new Endpoint(weight, request));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static final class Endpoint {
+        private final int weight;
+        private final Function<Random, HttpRequest> request;
+
+        private Endpoint(int weight, Function<Random, HttpRequest> request) {
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+}
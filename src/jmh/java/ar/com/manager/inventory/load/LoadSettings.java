@@ -0,0 +1,112 @@
+package ar.com.manager.inventory.load;
+
+import java.time.Duration;
+
+/**
+ * Scale of the generated data and shape of the load, read from --name=value arguments.
+ */
+public class LoadSettings {
+
+    private long seed = 42;
+    private int users = 50;
+    private int suppliers = 200;
+    private int clients = 10_000;
+    private int products = 20_000;
+    private int categories = 40;
+    private int sales = 100_000;
+    private int detailsPerSale = 5;
+    //Zipf exponent of the product popularity, higher values concentrate the sales on fewer products
+    private double skew = 1.1;
+    private int threads = 16;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private String report;
+
+    public static LoadSettings parse(String[] args) {
+        LoadSettings settings = new LoadSettings();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must have the form --name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "seed" -> settings.seed = Long.parseLong(value);
+                case "users" -> settings.users = positive(name, value);
+                case "suppliers" -> settings.suppliers = positive(name, value);
+                case "clients" -> settings.clients = positive(name, value);
+                case "products" -> settings.products = positive(name, value);
+                case "categories" -> settings.categories = positive(name, value);
+                case "sales" -> settings.sales = Integer.parseInt(value);
+                case "details-per-sale" -> settings.detailsPerSale = positive(name, value);
+                case "skew" -> settings.skew = Double.parseDouble(value);
+                case "threads" -> settings.threads = positive(name, value);
+                case "warmup" -> settings.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> settings.duration = Duration.ofSeconds(positive(name, value));
+                case "report" -> settings.report = value;
+                default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        return settings;
+    }
+
+    private static int positive(String name, String value) {
+        int number = Integer.parseInt(value);
+        if (number < 1) {
+            throw new IllegalArgumentException("The argument " + name + " must be greater than 0");
+        }
+        return number;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getSuppliers() {
+        return suppliers;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public int getSales() {
+        return sales;
+    }
+
+    public int getDetailsPerSale() {
+        return detailsPerSale;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public String getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,75 @@
+package ar.com.manager.inventory.mapper;
+
+import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.entity.Client;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.entity.Sale;
+import ar.com.manager.inventory.entity.SaleDetail;
+import ar.com.manager.inventory.entity.Supplier;
+import ar.com.manager.inventory.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int saleLines;
+
+    private ProductMapper productMapper;
+    private SaleMapper saleMapper;
+    private Product product;
+    private Sale sale;
+
+    @Setup
+    public void setUp() {
+        //toDto does not use the repositories
+        productMapper = new ProductMapper(null, null);
+        saleMapper = new SaleMapper(new SaleDetailMapper(productMapper, null), null, null);
+
+        User user = new User(1, "Juan", "Pérez", "jperez", "secret", "jperez@example.com", "1122334455", "ADMIN",
+                true, false, new ArrayList<>(), new ArrayList<>());
+        Client client = new Client(1, "Ana", "García", "30111222", false, new ArrayList<>());
+        Supplier supplier = new Supplier(1, "Carlos", "López", "1199887766", "ventas@example.com", "Distribuidora SA",
+                false, new ArrayList<>());
+        product = new Product(1, "PROD-001", "Laptop HP EliteBook", 50, "123456789012", 1299.99,
+                "Laptop empresarial con procesador Intel Core i7 y 16GB RAM", "Electrónicos",
+                "https://example.com/images/product.jpg", false, user, supplier);
+
+        List<SaleDetail> saleDetails = new ArrayList<>();
+        for (int i = 0; i < saleLines; i++) {
+            saleDetails.add(new SaleDetail(i + 1, 2, false, product));
+        }
+        sale = new Sale(1, LocalDateTime.of(2025, 5, 21, 14, 30, 0), 2599.98 * saleLines, false, user, client, saleDetails);
+    }
+
+    @Benchmark
+    public ProductDto productToDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public SaleDto saleToDto() {
+        return saleMapper.toDto(sale);
+    }
+}
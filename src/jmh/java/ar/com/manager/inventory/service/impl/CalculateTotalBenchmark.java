@@ -0,0 +1,49 @@
+package ar.com.manager.inventory.service.impl;
+
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.entity.SaleDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculateTotalBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    private int saleLines;
+
+    private List<SaleDetail> saleDetails;
+
+    @Setup
+    public void setUp() {
+        saleDetails = new ArrayList<>();
+        for (int i = 0; i < saleLines; i++) {
+            Product product = new Product();
+            product.setId(i + 1);
+            product.setPrice(10.0 + i);
+            saleDetails.add(new SaleDetail(i + 1, 1 + i % 3, false, product));
+        }
+    }
+
+    @Benchmark
+    public Double calculateTotal() {
+        return SaleServiceImpl.calculateTotal(saleDetails);
+    }
+}
@@ -0,0 +1,111 @@
+package ar.com.manager.inventory.service.impl;
+
+import ar.com.manager.inventory.BenchmarkContext;
+import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.SaleDetailDto;
+import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.entity.Client;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.entity.User;
+import ar.com.manager.inventory.repository.ClientRepository;
+import ar.com.manager.inventory.repository.ProductRepository;
+import ar.com.manager.inventory.repository.UserRepository;
+import ar.com.manager.inventory.service.SaleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end addSale and getAllSales through the Spring context against the embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleServiceBenchmark {
+
+    private static final int PRODUCTS = 200;
+    private static final int SALE_LINES = 3;
+
+    @Param({"1000"})
+    private int initialSales;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private SaleService saleService;
+    private Integer userId;
+    private Integer clientId;
+    private List<Integer> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        saleService = context.getBean(SaleService.class);
+
+        User user = new User(null, "Juan", "Pérez", "jperez", "secret", "jperez@example.com", "1122334455", "ADMIN",
+                true, false, new ArrayList<>(), new ArrayList<>());
+        userId = context.getBean(UserRepository.class).save(user).getId();
+        Client client = new Client(null, "Ana", "García", "30111222", false, new ArrayList<>());
+        clientId = context.getBean(ClientRepository.class).save(client).getId();
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product(null, "PROD-" + i, "Product " + i, Integer.MAX_VALUE / 2, "BAR" + (100000000 + i),
+                    10.0 + i, "Benchmark product " + i, "Category " + i % 10, null, false, user, null);
+            productIds.add(productRepository.save(product).getId());
+        }
+
+        List<SaleDto> sales = new ArrayList<>();
+        for (int i = 0; i < initialSales; i++) {
+            sales.add(newSale());
+        }
+        saleService.addSales(sales);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SaleDto addSale() {
+        return saleService.addSale(newSale());
+    }
+
+    @Benchmark
+    public List<SaleDto> getAllSales() {
+        return saleService.getAllSales(null, pageSize);
+    }
+
+    private SaleDto newSale() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<SaleDetailDto> saleDetails = new ArrayList<>();
+        for (int i = 0; i < SALE_LINES; i++) {
+            ProductDto product = new ProductDto();
+            product.setId(productIds.get(random.nextInt(productIds.size())));
+            saleDetails.add(new SaleDetailDto(null, 1 + random.nextInt(3), product));
+        }
+        return new SaleDto(null, null, 0, userId, clientId, saleDetails);
+    }
+}
@@ -0,0 +1,50 @@
+package ar.com.manager.inventory.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 5, 21, 14, 30, 0);
+    private final String text = "21/05/2025 14:30:00";
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Benchmark
+    public LocalDateTime stringToLocalDateTime() {
+        return Util.stringToLocalDateTime(text);
+    }
+
+    @Benchmark
+    public String localDateTimeToString() {
+        return Util.localDateTimeToString(dateTime);
+    }
+
+    @Benchmark
+    public StringBuilder appendLocalDateTime() {
+        buffer.setLength(0);
+        return Util.appendLocalDateTime(buffer, dateTime);
+    }
+
+    //Previous implementation, compiling the pattern on every call. Kept as the reference to compare against
+    @Benchmark
+    public String localDateTimeToStringCompilingPattern() {
+        return dateTime.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+    }
+}
@@ -0,0 +1,77 @@
+package ar.com.manager.inventory.changes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Settings shared by the change feeds. A feed only returns rows changed more than settle-millis ago: a
+ * transaction that stamped its rows before committing could otherwise become visible behind a watermark
+ * already handed out, and its changes would be skipped. The transactions that still commit more than
+ * settle-millis after their first stamp are counted in inventory.changes.late.commits.
+ */
+@Component
+public class ChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private static final List<String> TABLES = List.of("products", "clients", "suppliers", "users", "sales");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration settleTime;
+    private final Counter lateCommits;
+
+    public ChangeFeed(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                      @Value("${inventory.changes.settle-millis:2000}") long settleMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settleTime = Duration.ofMillis(settleMillis);
+        this.lateCommits = meterRegistry.counter("inventory.changes.late.commits");
+        ChangeStamps.register(this);
+    }
+
+    /**
+     * Method to stamp the rows created before the change columns existed, so the feed returns them once
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void stampUntrackedRows() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        for (String table : TABLES) {
+            int stamped = jdbcTemplate.update("UPDATE " + table + " SET updated_at = ? WHERE updated_at IS NULL", now);
+            if (stamped > 0) {
+                log.info("Stamped {} rows of {} for the change feed", stamped, table);
+            }
+        }
+    }
+
+    /**
+     * Method to get the upper bound of the rows a feed can return now
+     */
+    public LocalDateTime until() {
+        return LocalDateTime.now().minus(settleTime);
+    }
+
+    /**
+     * Method to check a committed transaction against the settle time. Its rows may be behind a watermark already
+     * handed out, and the clients past it only get them when they change again
+     */
+    void committed(LocalDateTime firstStamp) {
+        Duration lag = Duration.between(firstStamp, LocalDateTime.now());
+        if (lag.compareTo(settleTime) > 0) {
+            lateCommits.increment();
+            log.warn("A transaction committed {} ms after stamping its changes, over the {} ms the change feeds wait",
+                    lag.toMillis(), settleTime.toMillis());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ar.com.manager.inventory.changes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rows of a change feed and the watermark to ask for the next ones.
+ */
+public final class ChangePage<T> {
+
+    private final List<T> changes;
+    private final String nextSince;
+    private final boolean hasMore;
+
+    private ChangePage(List<T> changes, String nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Method to map the changed rows, read in (updatedAt, id) order. When there are no rows the given watermark
+     * is kept, so the client can keep polling with it.
+     */
+    public static <E, T> ChangePage<T> of(List<E> rows, int limit, Watermark since, Function<E, LocalDateTime> updatedAt,
+                                          Function<E, Integer> id, Function<E, T> mapper) {
+        String nextSince = rows.isEmpty()
+                ? since.toString()
+                : new Watermark(updatedAt.apply(rows.get(rows.size() - 1)), id.apply(rows.get(rows.size() - 1))).toString();
+        return new ChangePage<>(rows.stream().map(mapper).toList(), nextSince, rows.size() == limit);
+    }
+
+    public List<T> getChanges() {
+        return changes;
+    }
+
+    public String getNextSince() {
+        return nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,45 @@
+package ar.com.manager.inventory.changes;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Time of the updatedAt column of the rows the change feeds return. The rows of a transaction become visible when
+ * it commits, so the first stamp of each transaction is handed to ChangeFeed after the commit to detect the ones
+ * that committed later than the feeds wait for.
+ */
+public final class ChangeStamps {
+
+    private static volatile ChangeFeed changeFeed;
+
+    private ChangeStamps() {
+    }
+
+    static void register(ChangeFeed feed) {
+        changeFeed = feed;
+    }
+
+    /**
+     * Method to get the time to stamp a changed row with, truncated to the microseconds the column keeps
+     */
+    public static LocalDateTime now() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ChangeFeed feed = changeFeed;
+        if (feed != null && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream().noneMatch(CommitCheck.class::isInstance)) {
+            TransactionSynchronizationManager.registerSynchronization(new CommitCheck(feed, now));
+        }
+        return now;
+    }
+
+    private record CommitCheck(ChangeFeed feed, LocalDateTime firstStamp) implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            feed.committed(firstStamp);
+        }
+    }
+}
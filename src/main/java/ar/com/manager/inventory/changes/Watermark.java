@@ -0,0 +1,58 @@
+package ar.com.manager.inventory.changes;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a change feed: the last change time and id returned, written as "2025-05-21T14:30:00.123456_154".
+ * Rows are read in (updatedAt, id) order, so the id breaks the ties between rows changed at the same time.
+ */
+public final class Watermark {
+
+    // Start of the feed, before any change
+    public static final Watermark START = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private final LocalDateTime updatedAt;
+    private final Integer id;
+
+    public Watermark(LocalDateTime updatedAt, Integer id) {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    /**
+     * Method to read a watermark returned by a previous call, the start of the feed when it is not provided
+     */
+    public static Watermark parse(String watermark) {
+        if (watermark == null || watermark.isBlank()) {
+            return START;
+        }
+        int separator = watermark.lastIndexOf('_');
+        if (separator < 0) {
+            throw invalid(watermark);
+        }
+        try {
+            return new Watermark(LocalDateTime.parse(watermark.substring(0, separator)),
+                    Integer.valueOf(watermark.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw invalid(watermark);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String watermark) {
+        return new IllegalArgumentException("The watermark " + watermark + " is not valid, use the nextSince of a previous response");
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return updatedAt + "_" + id;
+    }
+}
@@ -0,0 +1,10 @@
+package ar.com.manager.inventory.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on the applicationTaskExecutor, which uses virtual threads when spring.threads.virtual.enabled is true
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,14 @@
+package ar.com.manager.inventory.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// The cache advice wraps the transaction one, so @CacheEvict runs once the change is committed
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    // ProductDto by product id. Size and TTL are set in spring.cache.caffeine.spec
+    public static final String PRODUCTS = "products";
+}
@@ -0,0 +1,38 @@
+package ar.com.manager.inventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reorder thresholds used when a product does not define its own one.
+ * A product is low on stock when its stock is less than or equal to the threshold.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.low-stock")
+public class LowStockProperties {
+
+    // Threshold of the products whose category has no threshold configured
+    private int defaultThreshold = 0;
+
+    // Threshold by category name
+    private Map<String, Integer> categoryThresholds = new HashMap<>();
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    public void setDefaultThreshold(int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    public Map<String, Integer> getCategoryThresholds() {
+        return categoryThresholds;
+    }
+
+    public void setCategoryThresholds(Map<String, Integer> categoryThresholds) {
+        this.categoryThresholds = categoryThresholds;
+    }
+}
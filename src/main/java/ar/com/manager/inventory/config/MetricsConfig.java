@@ -0,0 +1,47 @@
+package ar.com.manager.inventory.config;
+
+import ar.com.manager.inventory.metrics.RequestMetricsInterceptor;
+import ar.com.manager.inventory.metrics.StatementCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the SQL statements of each request and checks them against the budgets of SqlBudgetProperties.
+ * Timers of the endpoints (http.server.requests), the repositories (spring.data.repository.invocations)
+ * and the @Timed services, and their percentiles, are set in application.yml
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties sqlBudgetProperties;
+
+    public MetricsConfig(MeterRegistry meterRegistry, SqlBudgetProperties sqlBudgetProperties) {
+        this.meterRegistry = meterRegistry;
+        this.sqlBudgetProperties = sqlBudgetProperties;
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, sqlBudgetProperties));
+    }
+}
@@ -0,0 +1,35 @@
+package ar.com.manager.inventory.config;
+
+import ar.com.manager.inventory.outbox.FileOutboxSink;
+import ar.com.manager.inventory.outbox.InMemoryOutboxSink;
+import ar.com.manager.inventory.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Sink of the outbox relay when the application does not declare its own OutboxSink bean:
+ * the last events in memory (inventory.outbox.sink=memory) or an NDJSON file (inventory.outbox.sink=file).
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(@Value("${inventory.outbox.sink:memory}") String sink,
+                                 @Value("${inventory.outbox.memory-capacity:10000}") int memoryCapacity,
+                                 @Value("${inventory.outbox.file:outbox-events.ndjson}") String file,
+                                 ObjectMapper objectMapper) {
+        return switch (sink) {
+            case "memory" -> new InMemoryOutboxSink(memoryCapacity);
+            case "file" -> new FileOutboxSink(Path.of(file), objectMapper);
+            default -> throw new IllegalArgumentException("Unknown outbox sink: " + sink);
+        };
+    }
+}
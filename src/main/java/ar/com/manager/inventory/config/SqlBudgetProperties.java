@@ -0,0 +1,57 @@
+package ar.com.manager.inventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maximum number of SQL statements a request may run, by method and URI template ("GET /sales/{id}").
+ * A request over its budget is logged and counted, and fails when fail-on-exceeded is set.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.sql-budget")
+public class SqlBudgetProperties {
+
+    // Budget of the routes that have none configured, null to leave them unchecked
+    private Integer defaultBudget;
+
+    // Fail the statement that goes over the budget, meant for tests and load runs
+    private boolean failOnExceeded = false;
+
+    // Budget by "METHOD /uri/template"
+    private Map<String, Integer> routes = new HashMap<>();
+
+    /**
+     * Method to get the budget of a route, or null when it has none
+     */
+    public Integer budgetOf(String method, String uri) {
+        Integer budget = routes.get(method + " " + uri);
+        return budget != null ? budget : defaultBudget;
+    }
+
+    public Integer getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public void setDefaultBudget(Integer defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    public boolean isFailOnExceeded() {
+        return failOnExceeded;
+    }
+
+    public void setFailOnExceeded(boolean failOnExceeded) {
+        this.failOnExceeded = failOnExceeded;
+    }
+
+    public Map<String, Integer> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Integer> routes) {
+        this.routes = routes;
+    }
+}
@@ -1,7 +1,10 @@
 package ar.com.manager.inventory.controller;
 
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.controller.util.Pagination;
 import ar.com.manager.inventory.dto.ClientDto;
 import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.ProductSearchResultDto;
 import ar.com.manager.inventory.dto.UserDto;
 import ar.com.manager.inventory.exception.NotFoundException;
 import ar.com.manager.inventory.exception.ValidationException;
@@ -389,10 +392,222 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/search")
+    @Operation(
+            summary = "Buscar productos",
+            description = "Busca productos por nombre, descripción y categoría. Cada palabra de la búsqueda se compara como prefijo " +
+                    "(\"lap hp\" encuentra \"Laptop HP EliteBook\"), sin distinguir mayúsculas ni acentos, y deben coincidir todas. " +
+                    "Los resultados se ordenan por relevancia, priorizando las coincidencias en el nombre",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Búsqueda realizada exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Resultados de la búsqueda",
+                                            value = """
+                                            {
+                                              "products": [
+                                                  {
+                                                      "id": 1,
+                                                      "number": "PROD-001",
+                                                      "name": "Laptop HP EliteBook",
+                                                      "stock": 50,
+                                                      "barCode": "123456789012",
+                                                      "price": 1299.99,
+                                                      "description": "Laptop empresarial con procesador Intel Core i7 y 16GB RAM",
+                                                      "category": "Electrónicos",
+                                                      "image": "https://example.com/images/product.jpg",
+                                                      "userId": 1,
+                                                      "supplierId": null,
+                                                      "deleted": false
+                                                  }
+                                              ],
+                                              "total": 1,
+                                              "page": 0
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Parámetros de búsqueda inválidos",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Búsqueda vacía",
+                                            value = """
+                                            {
+                                              "message": "The search query is required"
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> searchProducts(
+            @Parameter(
+                    description = "Texto a buscar",
+                    required = true,
+                    example = "laptop hp")
+            @RequestParam String q,
+            @Parameter(
+                    description = "Número de página, empezando en 0",
+                    example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(
+                    description = "Cantidad máxima de productos a devolver (1-1000, por defecto 100)",
+                    example = "20")
+            @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            if (q.isBlank()) {
+                throw new IllegalArgumentException("The search query is required");
+            }
+            if (page < 0) {
+                throw new IllegalArgumentException("The page must be greater than or equal to 0");
+            }
+            ProductSearchResultDto result = productService.searchProducts(q, page, Pagination.limit(limit));
+            response.put(PRODUCTS, result.getProducts());
+            response.put(SEARCH_TOTAL, result.getTotal());
+            response.put(SEARCH_PAGE, result.getPage());
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @GetMapping("/low-stock")
+    @Operation(
+            summary = "Obtener productos con stock bajo",
+            description = "Devuelve los productos cuyo stock es menor o igual a su umbral de reposición. El umbral es el del producto, " +
+                    "o el de su categoría (inventory.low-stock.category-thresholds), o el umbral por defecto (inventory.low-stock.default-threshold)",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Alertas obtenidas exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Productos con stock bajo",
+                                            value = """
+                                            {
+                                              "alerts": [
+                                                  {
+                                                      "productId": 1,
+                                                      "productName": "Laptop HP EliteBook",
+                                                      "category": "Electrónicos",
+                                                      "stock": 3,
+                                                      "threshold": 10,
+                                                      "detectedAt": "21/05/2025 14:30:00"
+                                                  }
+                                              ]
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getLowStockAlerts() {
+        Map<String, Object> response = new HashMap<>();
+        response.put(LOW_STOCK_ALERTS, productService.getLowStockAlerts());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Obtener facetas del catálogo",
+            description = "Devuelve, por categoría y por proveedor, la cantidad de productos y la suma de su stock. " +
+                    "Se calcula en memoria y se actualiza con cada alta, modificación, baja y venta de productos",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Facetas obtenidas exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Facetas",
+                                            value = """
+                                            {
+                                              "categories": [
+                                                  { "value": "Electrónicos", "count": 120, "stock": 3400 },
+                                                  { "value": "Hogar", "count": 45, "stock": 800 }
+                                              ],
+                                              "suppliers": [
+                                                  { "value": "1", "count": 100, "stock": 2900 },
+                                                  { "value": "2", "count": 65, "stock": 1300 }
+                                              ]
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getProductFacets() {
+        Map<String, Object> response = new HashMap<>();
+        response.put(FACET_CATEGORIES, productService.getCategoryFacets());
+        response.put(FACET_SUPPLIERS, productService.getSupplierFacets());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping("/barcode/{barCode}")
+    @Operation(
+            summary = "Obtener producto por código de barras",
+            description = "Recupera el producto con el código de barras indicado. Pensado para los lectores de las cajas",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Producto encontrado exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ProductDto.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Producto no encontrado",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Producto no encontrado",
+                                            value = """
+                                            {
+                                              "message": "The product with barcode 123456789012 does not exist."
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getProductByBarCode(
+            @Parameter(
+                    description = "Código de barras del producto",
+                    required = true,
+                    example = "123456789012"
+            )
+            @PathVariable String barCode) {
+        Map<String, Object> response = new HashMap<>();
+        try{
+            response.put(PRODUCT, productService.getProductByBarCode(barCode));
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (NotFoundException e){
+            response.put(MESSAGE, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
     @GetMapping
     @Operation(
             summary = "Obtener todos los productos",
-            description = "Recupera una lista completa de todos los productos registrados en el sistema",
+            description = "Recupera una lista completa de todos los productos registrados en el sistema. " +
+                    "Con el parámetro category devuelve solo los productos de esa categoría",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -438,6 +653,22 @@ public class ProductController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Límite de página inválido",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Límite inválido",
+                                            value = """
+                                            {
+                                              "message": "Invalid pagination parameters",
+                                              "error": "The limit must be between 1 and 1000"
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Error interno del servidor",
@@ -456,16 +687,118 @@ public class ProductController {
                     )
             }
     )
-    public ResponseEntity<Map<String, Object>> getAllProducts() {
+    public ResponseEntity<Map<String, Object>> getAllProducts(
+            @Parameter(
+                    name = "after",
+                    description = "ID del último elemento de la página anterior (cursor). Si se omite se devuelve la primera página",
+                    example = "100")
+            @RequestParam(required = false) Integer after,
+            @Parameter(
+                    name = "limit",
+                    description = "Cantidad máxima de productos a devolver (1-1000, por defecto 100)",
+                    example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    name = "category",
+                    description = "Categoría por la que filtrar los productos",
+                    example = "Electrónicos")
+            @RequestParam(required = false) String category) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<ProductDto> products = productService.getAllProducts();
+            int pageSize = Pagination.limit(limit);
+            List<ProductDto> products = category == null
+                    ? productService.getAllProducts(after, pageSize)
+                    : productService.getProductsByCategory(category, after, pageSize);
             response.put(PRODUCTS, products);
+            response.put(NEXT_CURSOR, Pagination.nextCursor(products, pageSize, ProductDto::getId));
             return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, PAGINATION_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put(MESSAGE, INTERNAL_ERROR);
             response.put(ERROR, e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
     }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Obtener los productos modificados",
+            description = "Devuelve los productos creados, modificados o eliminados después de la marca indicada, ordenados por fecha de modificación. " +
+                    "Para seguir leyendo se envía el nextSince de la respuesta anterior.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Cambios obtenidos exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Cambios de productos",
+                                            value = """
+                                            {
+                                              "products": [
+                                                  {
+                                                      "id": 1,
+                                                      "number": "PROD-1",
+                                                      "name": "Lapicera azul",
+                                                      "stock": 95,
+                                                      "price": 150.0,
+                                                      "deleted": false,
+                                                      "userId": 1,
+                                                      "supplierId": 2,
+                                                      "updatedAt": "21/05/2025 14:30:00",
+                                                      "version": 3
+                                                  }
+                                              ],
+                                              "nextSince": "2025-05-21T14:30:00.123456_1",
+                                              "hasMore": false
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Marca o límite inválidos",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Marca inválida",
+                                            value = """
+                                            {
+                                              "message": "Error retrieving the changes",
+                                              "error": "The watermark x is not valid, use the nextSince of a previous response"
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getProductChanges(
+            @Parameter(
+                    name = "since",
+                    description = "Marca devuelta como nextSince por la llamada anterior. Si se omite se devuelven los cambios desde el inicio",
+                    example = "2025-05-21T14:30:00.123456_1")
+            @RequestParam(required = false) String since,
+            @Parameter(
+                    name = "limit",
+                    description = "Cantidad máxima de productos a devolver (1-1000, por defecto 100)",
+                    example = "100")
+            @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ChangePage<ProductDto> changes = productService.getProductChanges(since, Pagination.limit(limit));
+            response.put(PRODUCTS, changes.getChanges());
+            response.put(NEXT_SINCE, changes.getNextSince());
+            response.put(HAS_MORE, changes.isHasMore());
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, CHANGES_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
 }
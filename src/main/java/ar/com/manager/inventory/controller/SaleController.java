@@ -1,25 +1,46 @@
 package ar.com.manager.inventory.controller;
 
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.controller.util.Pagination;
 import ar.com.manager.inventory.dto.ClientDto;
+import ar.com.manager.inventory.dto.SaleBatchResultDto;
+import ar.com.manager.inventory.dto.SaleCommitStatusDto;
 import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.dto.SalesSummaryDto;
 import ar.com.manager.inventory.exception.NotFoundException;
+import ar.com.manager.inventory.exception.QueueFullException;
 import ar.com.manager.inventory.exception.ValidationException;
+import ar.com.manager.inventory.queue.SaleCommitQueue;
+import ar.com.manager.inventory.service.SaleExport;
 import ar.com.manager.inventory.service.SaleService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static ar.com.manager.inventory.controller.util.MessageConstants.*;
 
@@ -28,9 +49,16 @@ import static ar.com.manager.inventory.controller.util.MessageConstants.*;
 @Tag(name = "Ventas", description = "Operaciones para la gestión de ventas")
 public class SaleController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
     SaleService saleService;
-    public SaleController(SaleService saleService) {
+    ObjectMapper objectMapper;
+    SaleCommitQueue saleCommitQueue;
+    public SaleController(SaleService saleService, ObjectMapper objectMapper, ObjectProvider<SaleCommitQueue> saleCommitQueue) {
         this.saleService = saleService;
+        this.objectMapper = objectMapper;
+        this.saleCommitQueue = saleCommitQueue.getIfAvailable();
     }
 
     @PostMapping
@@ -173,6 +201,193 @@ public class SaleController {
         }
     }
 
+    @PostMapping(value = "/batch", consumes = "application/json")
+    @Operation(
+            summary = "Crear ventas en lote",
+            description = "Registra un lote de ventas (por ejemplo, las acumuladas por una terminal sin conexión) en una sola operación. Cada venta se valida por separado y se informa su resultado",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resultado de cada venta del lote, en el mismo orden en que fueron enviadas",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Resultado del lote",
+                                            value = """
+                                            {
+                                              "results": [
+                                                  {
+                                                      "index": 0,
+                                                      "saleId": 10,
+                                                      "totalPrice": 2599.98,
+                                                      "status": "CREATED",
+                                                      "error": null
+                                                  },
+                                                  {
+                                                      "index": 1,
+                                                      "saleId": null,
+                                                      "totalPrice": null,
+                                                      "status": "REJECTED",
+                                                      "error": "The product in sale details does not have enough stock"
+                                                  }
+                                              ]
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Lote vacío o inválido",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Lote vacío",
+                                            value = """
+                                            {
+                                              "message": "Error saving the sales batch",
+                                              "error": "The sales batch cannot be null or empty"
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> addSales(
+            @Parameter(
+                    description = "Lista de ventas a crear",
+                    required = true,
+                    array = @ArraySchema(schema = @Schema(implementation = SaleDto.class)))
+            @RequestBody List<SaleDto> saleDtos) {
+        return saveSales(saleDtos);
+    }
+
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    @Operation(
+            summary = "Crear ventas en lote (NDJSON)",
+            description = "Igual que el lote JSON, pero recibe una venta por línea"
+    )
+    public ResponseEntity<Map<String, Object>> addSalesNdjson(InputStream body) {
+        try {
+            return saveSales(objectMapper.readerFor(SaleDto.class).<SaleDto>readValues(body).readAll());
+        } catch (IOException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put(MESSAGE, SALES_BATCH_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> saveSales(List<SaleDto> saleDtos) {
+        Map<String, Object> response = new HashMap<>();
+        try{
+            List<SaleBatchResultDto> results = saleService.addSales(saleDtos);
+            response.put(SALE_RESULTS, results);
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (ValidationException | NotFoundException | IllegalArgumentException e){
+            response.put(MESSAGE, SALES_BATCH_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @PostMapping("/async")
+    @Operation(
+            summary = "Crear nueva venta de forma asíncrona",
+            description = "Valida la venta, la encola y responde sin esperar a que se guarde. Las ventas encoladas se guardan en lotes " +
+                    "y su resultado se consulta en /sales/async/{idempotencyKey}. Un reintento con la misma clave no crea otra venta: " +
+                    "devuelve el estado del primer intento. Requiere inventory.sale-queue.enabled",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            description = "Venta aceptada, o estado de la venta si la clave ya se había recibido",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Venta encolada",
+                                            value = """
+                                            {
+                                              "commit": {
+                                                  "idempotencyKey": "pos-12-000154",
+                                                  "status": "PENDING",
+                                                  "saleId": null,
+                                                  "totalPrice": null,
+                                                  "error": null,
+                                                  "acceptedAt": "21/05/2025 14:30:00"
+                                              }
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Falta la clave de idempotencia o la venta es inválida"),
+                    @ApiResponse(responseCode = "404", description = "La cola asíncrona de ventas no está habilitada"),
+                    @ApiResponse(responseCode = "503", description = "La cola está llena, se puede reintentar con la misma clave")
+            }
+    )
+    public ResponseEntity<Map<String, Object>> addSaleAsync(
+            @Parameter(description = "Clave única de la venta generada por el cliente (hasta 100 caracteres)", required = true, example = "pos-12-000154")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(
+                    description = "Datos de la venta a crear",
+                    required = true,
+                    schema = @Schema(implementation = SaleDto.class))
+            @Valid @RequestBody SaleDto saleDto) {
+        Map<String, Object> response = new HashMap<>();
+        if (saleCommitQueue == null) {
+            response.put(MESSAGE, SALE_SAVE_ERROR);
+            response.put(ERROR, SALE_QUEUE_DISABLED);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+            response.put(MESSAGE, SALE_SAVE_ERROR);
+            response.put(ERROR, IDEMPOTENCY_KEY_INVALID);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        try {
+            response.put(SALE_COMMIT, saleCommitQueue.submit(idempotencyKey, saleDto));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(UriComponentsBuilder.fromPath("/sales/async/{idempotencyKey}").buildAndExpand(idempotencyKey).encode().toUri())
+                    .body(response);
+        } catch (QueueFullException e) {
+            response.put(MESSAGE, SALE_SAVE_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+        }
+    }
+
+    @GetMapping("/async/{idempotencyKey}")
+    @Operation(
+            summary = "Obtener estado de una venta asíncrona",
+            description = "Informa si la venta recibida con la clave está pendiente, fue creada, fue rechazada o falló. " +
+                    "Los estados se conservan durante inventory.sale-queue.retention-minutes",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Estado de la venta",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = SaleCommitStatusDto.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "404", description = "La clave no se recibió, ya expiró o la cola no está habilitada")
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getSaleCommitStatus(
+            @Parameter(description = "Clave de idempotencia de la venta", required = true, example = "pos-12-000154")
+            @PathVariable String idempotencyKey) {
+        Map<String, Object> response = new HashMap<>();
+        SaleCommitStatusDto status = saleCommitQueue == null ? null : saleCommitQueue.getStatus(idempotencyKey);
+        if (status == null) {
+            response.put(MESSAGE, SALE_COMMIT_NOT_FOUND);
+            response.put(ERROR, saleCommitQueue == null ? SALE_QUEUE_DISABLED : SALE_COMMIT_NOT_FOUND);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put(SALE_COMMIT, status);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Eliminar venta",
@@ -387,6 +602,22 @@ public class SaleController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Límite de página inválido",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Límite inválido",
+                                            value = """
+                                            {
+                                              "message": "Invalid pagination parameters",
+                                              "error": "The limit must be between 1 and 1000"
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Error interno del servidor",
@@ -405,12 +636,28 @@ public class SaleController {
                     )
             }
     )
-    public ResponseEntity<Map<String, Object>> getAllSales() {
+    public ResponseEntity<Map<String, Object>> getAllSales(
+            @Parameter(
+                    name = "after",
+                    description = "ID del último elemento de la página anterior (cursor). Si se omite se devuelve la primera página",
+                    example = "100")
+            @RequestParam(required = false) Integer after,
+            @Parameter(
+                    name = "limit",
+                    description = "Cantidad máxima de ventas a devolver (1-1000, por defecto 100)",
+                    example = "100")
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<SaleDto> sales = saleService.getAllSales();
+            int pageSize = Pagination.limit(limit);
+            List<SaleDto> sales = saleService.getAllSales(after, pageSize);
             response.put(SALES, sales);
+            response.put(NEXT_CURSOR, Pagination.nextCursor(sales, pageSize, SaleDto::getId));
             return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, PAGINATION_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put(MESSAGE, INTERNAL_ERROR);
             response.put(ERROR, e.getMessage());
@@ -781,7 +1028,7 @@ public class SaleController {
     @GetMapping("/month")
     @Operation(
             summary = "Obtener ventas por mes",
-            description = "Recupera todas las ventas realizadas en un mes específico (1-12)",
+            description = "Recupera todas las ventas realizadas en un mes específico (1-12) de un año",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -874,6 +1121,11 @@ public class SaleController {
             }
     )
     public ResponseEntity<Map<String, Object>> getSalesByMonth(
+            @Parameter(
+                    name = "year",
+                    description = "Año (formato YYYY)",
+                    example = "2025")
+            @RequestParam int year,
             @Parameter(
                     name = "month",
                     description = "Número del mes (1-12)",
@@ -881,7 +1133,7 @@ public class SaleController {
             @RequestParam int month){
         Map<String, Object> response = new HashMap<>();
         try{
-            List<SaleDto> sales = saleService.findBySaleDateMonth(month);
+            List<SaleDto> sales = saleService.findBySaleDateMonth(year, month);
             response.put(SALES, sales);
             return ResponseEntity.status(HttpStatus.OK).body(response);
         } catch(Exception e) {
@@ -1088,4 +1340,304 @@ public class SaleController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
     }
+
+    @GetMapping("/summary")
+    @Operation(
+            summary = "Obtener totales de ventas",
+            description = "Devuelve la cantidad de ventas, las unidades y el monto vendido entre dos días, calculados a partir de los totales diarios",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Totales del período",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Totales",
+                                            value = """
+                                            {
+                                              "summary": {
+                                                  "date": null,
+                                                  "salesCount": 42,
+                                                  "units": 130,
+                                                  "revenue": 15230.5
+                                              }
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Fechas inválidas",
+                            content = @Content(
+                                    examples = @ExampleObject(
+                                            name = "Fechas inválidas",
+                                            value = """
+                                            {
+                                              "message": "Internal error",
+                                              "error": "The date provided does not comply with the format dd/MM/yyyy"
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getSalesSummary(
+            @Parameter(
+                    name = "startDate",
+                    description = "Día inicial, incluido (formato dd/MM/yyyy)",
+                    example = "01/05/2025")
+            @RequestParam String startDate,
+            @Parameter(
+                    name = "endDate",
+                    description = "Día final, incluido (formato dd/MM/yyyy)",
+                    example = "31/05/2025")
+            @RequestParam String endDate,
+            @Parameter(
+                    name = "productId",
+                    description = "ID de un producto para obtener solo sus totales. Opcional",
+                    example = "1")
+            @RequestParam(required = false) Integer productId) {
+        Map<String, Object> response = new HashMap<>();
+        try{
+            response.put(SALES_SUMMARY, saleService.getSalesSummary(startDate, endDate, productId));
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (ValidationException | IllegalArgumentException e){
+            response.put(MESSAGE, INTERNAL_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @GetMapping("/summary/daily")
+    @Operation(
+            summary = "Obtener totales diarios de ventas",
+            description = "Devuelve la cantidad de ventas, las unidades y el monto vendido de cada día entre dos días",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Totales de cada día con ventas",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Totales diarios",
+                                            value = """
+                                            {
+                                              "days": [
+                                                  {
+                                                      "date": "21/05/2025",
+                                                      "salesCount": 2,
+                                                      "units": 5,
+                                                      "revenue": 3649.95
+                                                  }
+                                              ]
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getDailySalesSummary(
+            @Parameter(
+                    name = "startDate",
+                    description = "Día inicial, incluido (formato dd/MM/yyyy)",
+                    example = "01/05/2025")
+            @RequestParam String startDate,
+            @Parameter(
+                    name = "endDate",
+                    description = "Día final, incluido (formato dd/MM/yyyy)",
+                    example = "31/05/2025")
+            @RequestParam String endDate,
+            @Parameter(
+                    name = "productId",
+                    description = "ID de un producto para obtener solo sus totales. Opcional",
+                    example = "1")
+            @RequestParam(required = false) Integer productId) {
+        Map<String, Object> response = new HashMap<>();
+        try{
+            List<SalesSummaryDto> days = saleService.getDailySalesSummary(startDate, endDate, productId);
+            response.put(SALES_SUMMARY_DAYS, days);
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (ValidationException | IllegalArgumentException e){
+            response.put(MESSAGE, INTERNAL_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @GetMapping(value = "/between", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exportar ventas entre fechas (NDJSON)",
+            description = "Exporta las ventas en formato NDJSON, una venta por línea, escribiéndolas a medida que se leen de la base de datos"
+    )
+    public ResponseEntity<?> exportSalesBetweenDates(
+            @Parameter(name = "startDate", description = "Fecha inicial (formato dd/MM/yyyy HH:mm:ss)", example = "01/05/2025 00:00:00")
+            @RequestParam String startDate,
+            @Parameter(name = "endDate", description = "Fecha final (formato dd/MM/yyyy HH:mm:ss)", example = "31/05/2025 23:59:59")
+            @RequestParam String endDate) {
+        return streamSales(() -> saleService.exportBySaleDateBetween(startDate, endDate));
+    }
+
+    @GetMapping(value = "/client/{clientId}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exportar ventas por cliente (NDJSON)",
+            description = "Exporta las ventas en formato NDJSON, una venta por línea, escribiéndolas a medida que se leen de la base de datos"
+    )
+    public ResponseEntity<?> exportSalesByClientId(
+            @Parameter(name = "clientId", description = "ID del cliente", example = "1")
+            @PathVariable Integer clientId) {
+        return streamSales(() -> saleService.exportByClientId(clientId));
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exportar ventas por usuario (NDJSON)",
+            description = "Exporta las ventas en formato NDJSON, una venta por línea, escribiéndolas a medida que se leen de la base de datos"
+    )
+    public ResponseEntity<?> exportSalesByUserId(
+            @Parameter(name = "userId", description = "ID del usuario", example = "1")
+            @PathVariable Integer userId) {
+        return streamSales(() -> saleService.exportByUserId(userId));
+    }
+
+    @GetMapping(value = "/month", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exportar ventas por mes (NDJSON)",
+            description = "Exporta las ventas en formato NDJSON, una venta por línea, escribiéndolas a medida que se leen de la base de datos"
+    )
+    public ResponseEntity<?> exportSalesByMonth(
+            @Parameter(name = "year", description = "Año (formato YYYY)", example = "2025")
+            @RequestParam int year,
+            @Parameter(name = "month", description = "Número del mes (1-12)", example = "5")
+            @RequestParam int month) {
+        return streamSales(() -> saleService.exportBySaleDateMonth(year, month));
+    }
+
+    @GetMapping(value = "/year", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exportar ventas por año (NDJSON)",
+            description = "Exporta las ventas en formato NDJSON, una venta por línea, escribiéndolas a medida que se leen de la base de datos"
+    )
+    public ResponseEntity<?> exportSalesByYear(
+            @Parameter(name = "year", description = "Año (formato YYYY)", example = "2025")
+            @RequestParam int year) {
+        return streamSales(() -> saleService.exportBySaleDateYear(year));
+    }
+
+    /**
+     * Method to check the arguments of an export before the status is sent, and then stream its sales as NDJSON.
+     * Once the body starts the status can no longer change, so errors found later only cut the output short
+     */
+    private ResponseEntity<?> streamSales(Supplier<SaleExport> exportFactory) {
+        SaleExport export;
+        try {
+            export = exportFactory.get();
+        } catch (NotFoundException e) {
+            return exportError(HttpStatus.NOT_FOUND, e);
+        } catch (ValidationException | IllegalArgumentException e) {
+            return exportError(HttpStatus.BAD_REQUEST, e);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                export.writeTo(sale -> {
+                    try {
+                        objectMapper.writeValue(generator, sale);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private ResponseEntity<Map<String, Object>> exportError(HttpStatus status, RuntimeException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(MESSAGE, SALES_EXPORT_ERROR);
+        response.put(ERROR, e.getMessage());
+        //The route produces NDJSON, the error is sent as a plain JSON object like in the other routes
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(response);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Obtener los ventas modificados",
+            description = "Devuelve los ventas creados, modificados o eliminados después de la marca indicada, ordenados por fecha de modificación. " +
+                    "Para seguir leyendo se envía el nextSince de la respuesta anterior.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Cambios obtenidos exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Cambios de ventas",
+                                            value = """
+                                            {
+                                              "sales": [
+                                                  {
+                                                      "id": 154,
+                                                      "saleDate": "21/05/2025 14:29:58",
+                                                      "totalPrice": 300.0,
+                                                      "deleted": true,
+                                                      "userId": 1,
+                                                      "clientId": 1,
+                                                      "updatedAt": "21/05/2025 14:30:00",
+                                                      "version": 1
+                                                  }
+                                              ],
+                                              "nextSince": "2025-05-21T14:30:00.123456_1",
+                                              "hasMore": false
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Marca o límite inválidos",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Marca inválida",
+                                            value = """
+                                            {
+                                              "message": "Error retrieving the changes",
+                                              "error": "The watermark x is not valid, use the nextSince of a previous response"
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getSaleChanges(
+            @Parameter(
+                    name = "since",
+                    description = "Marca devuelta como nextSince por la llamada anterior. Si se omite se devuelven los cambios desde el inicio",
+                    example = "2025-05-21T14:30:00.123456_1")
+            @RequestParam(required = false) String since,
+            @Parameter(
+                    name = "limit",
+                    description = "Cantidad máxima de ventas a devolver (1-1000, por defecto 100)",
+                    example = "100")
+            @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ChangePage<SaleDto> changes = saleService.getSaleChanges(since, Pagination.limit(limit));
+            response.put(SALES, changes.getChanges());
+            response.put(NEXT_SINCE, changes.getNextSince());
+            response.put(HAS_MORE, changes.isHasMore());
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, CHANGES_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package ar.com.manager.inventory.controller;
 
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.controller.util.Pagination;
 import ar.com.manager.inventory.dto.SupplierDto;
 import ar.com.manager.inventory.exception.NotFoundException;
 import ar.com.manager.inventory.exception.ValidationException;
@@ -381,6 +383,22 @@ public class SupplierController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Límite de página inválido",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Límite inválido",
+                                            value = """
+                                            {
+                                              "message": "Invalid pagination parameters",
+                                              "error": "The limit must be between 1 and 1000"
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Error interno del servidor",
@@ -399,16 +417,110 @@ public class SupplierController {
                     )
             }
     )
-    public ResponseEntity<Map<String, Object>> getAllSuppliers(){
+    public ResponseEntity<Map<String, Object>> getAllSuppliers(
+            @Parameter(
+                    name = "after",
+                    description = "ID del último elemento de la página anterior (cursor). Si se omite se devuelve la primera página",
+                    example = "100")
+            @RequestParam(required = false) Integer after,
+            @Parameter(
+                    name = "limit",
+                    description = "Cantidad máxima de proveedores a devolver (1-1000, por defecto 100)",
+                    example = "100")
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<SupplierDto> suppliers = supplierService.getAllSuppliers();
+            int pageSize = Pagination.limit(limit);
+            List<SupplierDto> suppliers = supplierService.getAllSuppliers(after, pageSize);
             response.put(SUPPLIERS, suppliers);
+            response.put(NEXT_CURSOR, Pagination.nextCursor(suppliers, pageSize, SupplierDto::getId));
             return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, PAGINATION_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put(MESSAGE, INTERNAL_ERROR);
             response.put(ERROR, e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
     }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Obtener los proveedores modificados",
+            description = "Devuelve los proveedores creados, modificados o eliminados después de la marca indicada, ordenados por fecha de modificación. " +
+                    "Para seguir leyendo se envía el nextSince de la respuesta anterior. Los productos de cada proveedor no se incluyen.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Cambios obtenidos exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Cambios de proveedores",
+                                            value = """
+                                            {
+                                              "suppliers": [
+                                                  {
+                                                      "id": 1,
+                                                      "firstName": "Juan",
+                                                      "lastName": "Perez",
+                                                      "phoneNumber": "1512345678",
+                                                      "email": "juan@example.com",
+                                                      "company": "Librería Central",
+                                                      "deleted": false,
+                                                      "updatedAt": "21/05/2025 14:30:00",
+                                                      "version": 3
+                                                  }
+                                              ],
+                                              "nextSince": "2025-05-21T14:30:00.123456_1",
+                                              "hasMore": false
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Marca o límite inválidos",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Marca inválida",
+                                            value = """
+                                            {
+                                              "message": "Error retrieving the changes",
+                                              "error": "The watermark x is not valid, use the nextSince of a previous response"
+                                            }
+                                            """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Map<String, Object>> getSupplierChanges(
+            @Parameter(
+                    name = "since",
+                    description = "Marca devuelta como nextSince por la llamada anterior. Si se omite se devuelven los cambios desde el inicio",
+                    example = "2025-05-21T14:30:00.123456_1")
+            @RequestParam(required = false) String since,
+            @Parameter(
+                    name = "limit",
+                    description = "Cantidad máxima de proveedores a devolver (1-1000, por defecto 100)",
+                    example = "100")
+            @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ChangePage<SupplierDto> changes = supplierService.getSupplierChanges(since, Pagination.limit(limit));
+            response.put(SUPPLIERS, changes.getChanges());
+            response.put(NEXT_SINCE, changes.getNextSince());
+            response.put(HAS_MORE, changes.isHasMore());
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put(MESSAGE, CHANGES_ERROR);
+            response.put(ERROR, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
 }
@@ -6,6 +6,11 @@ public final class MessageConstants {
     public static final String MESSAGE = "Message";
     public static final String ERROR = "Error";
     public static final String INTERNAL_ERROR = "Internal error";
+    public static final String NEXT_CURSOR = "nextCursor";
+    public static final String NEXT_SINCE = "nextSince";
+    public static final String HAS_MORE = "hasMore";
+    public static final String CHANGES_ERROR = "Error retrieving the changes";
+    public static final String PAGINATION_ERROR = "Invalid pagination parameters";
 
     // CONSTANTS FOR USER
     public static final String USERS = "users";
@@ -31,6 +36,11 @@ public final class MessageConstants {
     public static final String PRODUCT_UPDATE_SUCCESS = "Product successfully updated";
     public static final String PRODUCT_FOUND = "Product found";
     public static final String PRODUCTS_FOUND = "Products found";
+    public static final String SEARCH_TOTAL = "total";
+    public static final String SEARCH_PAGE = "page";
+    public static final String FACET_CATEGORIES = "categories";
+    public static final String FACET_SUPPLIERS = "suppliers";
+    public static final String LOW_STOCK_ALERTS = "alerts";
 
     // CONSTANTS FOR CLIENT
     public static final String CLIENTS = "clients";
@@ -55,6 +65,15 @@ public final class MessageConstants {
     public static final String SALE_UPDATE_SUCCESS = "Sale successfully updated.";
     public static final String SALE_FOUND = "Sale found";
     public static final String SALES_FOUND = "Sales found";
+    public static final String SALE_RESULTS = "results";
+    public static final String SALES_BATCH_ERROR = "Error saving the sales batch";
+    public static final String SALES_SUMMARY = "summary";
+    public static final String SALES_SUMMARY_DAYS = "days";
+    public static final String SALES_EXPORT_ERROR = "Error exporting the sales";
+    public static final String SALE_COMMIT = "commit";
+    public static final String SALE_COMMIT_NOT_FOUND = "Sale commit not found";
+    public static final String SALE_QUEUE_DISABLED = "The asynchronous sale queue is disabled";
+    public static final String IDEMPOTENCY_KEY_INVALID = "The Idempotency-Key header is required and must have at most 100 characters";
 
     // CONSTANTS FOR SALE DETAIL
     public static final String SALE_DETAILS = "saleDetails";
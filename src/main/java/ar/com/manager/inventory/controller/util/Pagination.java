@@ -0,0 +1,34 @@
+package ar.com.manager.inventory.controller.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class Pagination {
+    private Pagination() {}
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Method to validate the requested page size, using the default one when it is not provided
+     */
+    public static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Method to get the cursor of the next page, or null when the given page is the last one
+     */
+    public static <T> Integer nextCursor(List<T> page, int limit, Function<T, Integer> id) {
+        if (page.size() < limit) {
+            return null;
+        }
+        return id.apply(page.get(page.size() - 1));
+    }
+}
@@ -67,6 +67,20 @@ public class ClientDto {
     )
     private boolean deleted;
 
+    @Schema(
+            description = "Fecha y hora de la última modificación del cliente (formato dd/MM/yyyy HH:mm:ss)",
+            example = "21/05/2025 14:30:00",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private String updatedAt;
+
+    @Schema(
+            description = "Cantidad de modificaciones del cliente, aumenta con cada cambio",
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private long version;
+
     public ClientDto() {
     }
 
@@ -126,6 +140,22 @@ public class ClientDto {
         this.deleted = deleted;
     }
 
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public void addSale(SaleDto sale) {
         sales.add(sale);
     }
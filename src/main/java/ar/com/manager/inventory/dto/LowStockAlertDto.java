@@ -0,0 +1,85 @@
+package ar.com.manager.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Alerta de un producto cuyo stock llegó a su umbral de reposición")
+public class LowStockAlertDto {
+
+    @Schema(description = "ID del producto", example = "1")
+    private Integer productId;
+
+    @Schema(description = "Nombre del producto", example = "Laptop HP EliteBook")
+    private String productName;
+
+    @Schema(description = "Categoría del producto", example = "Electrónicos")
+    private String category;
+
+    @Schema(description = "Stock del producto al último cambio", example = "3")
+    private int stock;
+
+    @Schema(description = "Umbral de reposición aplicado", example = "10")
+    private int threshold;
+
+    @Schema(description = "Fecha y hora en que el stock llegó al umbral (formato dd/MM/yyyy HH:mm:ss)", example = "21/05/2025 14:30:00")
+    private String detectedAt;
+
+    public LowStockAlertDto() {
+    }
+
+    public LowStockAlertDto(Integer productId, String productName, String category, int stock, int threshold, String detectedAt) {
+        this.productId = productId;
+        this.productName = productName;
+        this.category = category;
+        this.stock = stock;
+        this.threshold = threshold;
+        this.detectedAt = detectedAt;
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public void setStock(int stock) {
+        this.stock = stock;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public String getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(String detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+}
@@ -93,6 +93,14 @@ public class ProductDto {
     @Size(max = 255, message = "La URL de la imagen no puede exceder los 255 caracteres")
     private String image;
 
+    @Schema(
+            description = "Stock a partir del cual se genera una alerta de stock bajo. Si se omite se usa el umbral de la categoría",
+            example = "10",
+            minimum = "0"
+    )
+    @Min(value = 0, message = "El umbral de reposición no puede ser negativo")
+    private Integer reorderThreshold;
+
     @Schema(
             description = "ID del usuario propietario/creador del producto. Obligatorio para creación",
             example = "1",
@@ -115,6 +123,20 @@ public class ProductDto {
     )
     private boolean deleted;
 
+    @Schema(
+            description = "Fecha y hora de la última modificación del producto (formato dd/MM/yyyy HH:mm:ss)",
+            example = "21/05/2025 14:30:00",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private String updatedAt;
+
+    @Schema(
+            description = "Cantidad de modificaciones del producto, aumenta con cada cambio",
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private long version;
+
     public ProductDto() {
     }
 
@@ -204,6 +226,14 @@ public class ProductDto {
         this.image = image;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
     public Integer getUserId() {
         return userId;
     }
@@ -227,4 +257,20 @@ public class ProductDto {
     public void setDeleted(boolean deleted) {
         this.deleted = deleted;
     }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,49 @@
+package ar.com.manager.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cantidad de productos y stock total de una categoría o de un proveedor")
+public class ProductFacetDto {
+
+    @Schema(description = "Categoría, o ID del proveedor", example = "Electrónicos")
+    private String value;
+
+    @Schema(description = "Cantidad de productos", example = "120")
+    private long count;
+
+    @Schema(description = "Suma del stock de los productos", example = "3400")
+    private long stock;
+
+    public ProductFacetDto() {
+    }
+
+    public ProductFacetDto(String value, long count, long stock) {
+        this.value = value;
+        this.count = count;
+        this.stock = stock;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getStock() {
+        return stock;
+    }
+
+    public void setStock(long stock) {
+        this.stock = stock;
+    }
+}
@@ -0,0 +1,51 @@
+package ar.com.manager.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de resultados de una búsqueda de productos, ordenados por relevancia")
+public class ProductSearchResultDto {
+
+    @Schema(description = "Cantidad total de productos que coinciden con la búsqueda", example = "57")
+    private int total;
+
+    @Schema(description = "Número de página devuelta, empezando en 0", example = "0")
+    private int page;
+
+    @Schema(description = "Productos de la página, del más relevante al menos relevante")
+    private List<ProductDto> products;
+
+    public ProductSearchResultDto() {
+    }
+
+    public ProductSearchResultDto(int total, int page, List<ProductDto> products) {
+        this.total = total;
+        this.page = page;
+        this.products = products;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public List<ProductDto> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDto> products) {
+        this.products = products;
+    }
+}
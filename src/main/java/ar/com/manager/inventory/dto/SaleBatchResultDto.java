@@ -0,0 +1,83 @@
+package ar.com.manager.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de una venta dentro de una carga masiva")
+public class SaleBatchResultDto {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    @Schema(description = "Posición de la venta en el lote recibido", example = "0")
+    private int index;
+
+    @Schema(description = "ID de la venta creada. Nulo si fue rechazada", example = "1")
+    private Integer saleId;
+
+    @Schema(description = "Precio total de la venta creada", example = "150.75")
+    private Double totalPrice;
+
+    @Schema(description = "Estado de la venta: CREATED o REJECTED", example = "CREATED")
+    private String status;
+
+    @Schema(description = "Motivo del rechazo", example = "The product in sale details does not have enough stock")
+    private String error;
+
+    public SaleBatchResultDto() {
+    }
+
+    public SaleBatchResultDto(int index, Integer saleId, Double totalPrice, String status, String error) {
+        this.index = index;
+        this.saleId = saleId;
+        this.totalPrice = totalPrice;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static SaleBatchResultDto created(int index, Integer saleId, Double totalPrice) {
+        return new SaleBatchResultDto(index, saleId, totalPrice, CREATED, null);
+    }
+
+    public static SaleBatchResultDto rejected(int index, String error) {
+        return new SaleBatchResultDto(index, null, null, REJECTED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getSaleId() {
+        return saleId;
+    }
+
+    public void setSaleId(Integer saleId) {
+        this.saleId = saleId;
+    }
+
+    public Double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(Double totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
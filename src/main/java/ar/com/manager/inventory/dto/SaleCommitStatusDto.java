@@ -0,0 +1,93 @@
+package ar.com.manager.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Estado de una venta recibida por la cola asíncrona")
+public class SaleCommitStatusDto {
+    public static final String PENDING = "PENDING";
+    public static final String CREATED = SaleBatchResultDto.CREATED;
+    public static final String REJECTED = SaleBatchResultDto.REJECTED;
+    public static final String FAILED = "FAILED";
+
+    @Schema(description = "Clave de idempotencia enviada por el cliente", example = "pos-12-000154")
+    private String idempotencyKey;
+
+    @Schema(description = "Estado de la venta: PENDING, CREATED, REJECTED o FAILED (error inesperado, se puede reintentar con la misma clave)", example = "CREATED")
+    private String status;
+
+    @Schema(description = "ID de la venta creada. Nulo mientras está pendiente o si no se creó", example = "1")
+    private Integer saleId;
+
+    @Schema(description = "Precio total de la venta creada", example = "150.75")
+    private Double totalPrice;
+
+    @Schema(description = "Motivo del rechazo o de la falla", example = "The product in sale details does not have enough stock")
+    private String error;
+
+    @Schema(description = "Fecha y hora en que se recibió la venta (formato dd/MM/yyyy HH:mm:ss)", example = "21/05/2025 14:30:00")
+    private String acceptedAt;
+
+    public SaleCommitStatusDto() {
+    }
+
+    public SaleCommitStatusDto(String idempotencyKey, String status, Integer saleId, Double totalPrice, String error, String acceptedAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.status = status;
+        this.saleId = saleId;
+        this.totalPrice = totalPrice;
+        this.error = error;
+        this.acceptedAt = acceptedAt;
+    }
+
+    public static SaleCommitStatusDto pending(String idempotencyKey, String acceptedAt) {
+        return new SaleCommitStatusDto(idempotencyKey, PENDING, null, null, null, acceptedAt);
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getSaleId() {
+        return saleId;
+    }
+
+    public void setSaleId(Integer saleId) {
+        this.saleId = saleId;
+    }
+
+    public Double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(Double totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public void setAcceptedAt(String acceptedAt) {
+        this.acceptedAt = acceptedAt;
+    }
+}
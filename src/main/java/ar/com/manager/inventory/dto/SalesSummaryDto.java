@@ -0,0 +1,61 @@
+package ar.com.manager.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Totales de ventas de un período o de un día")
+public class SalesSummaryDto {
+
+    @Schema(description = "Día de los totales (formato dd/MM/yyyy). Nulo en los totales de un período", example = "21/05/2025")
+    private String date;
+
+    @Schema(description = "Cantidad de ventas", example = "42")
+    private long salesCount;
+
+    @Schema(description = "Unidades vendidas", example = "130")
+    private long units;
+
+    @Schema(description = "Monto total vendido", example = "15230.50")
+    private double revenue;
+
+    public SalesSummaryDto() {
+    }
+
+    public SalesSummaryDto(String date, long salesCount, long units, double revenue) {
+        this.date = date;
+        this.salesCount = salesCount;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public long getSalesCount() {
+        return salesCount;
+    }
+
+    public void setSalesCount(long salesCount) {
+        this.salesCount = salesCount;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -84,6 +84,20 @@ public class SupplierDto {
     )
     private boolean deleted;
 
+    @Schema(
+            description = "Fecha y hora de la última modificación del proveedor (formato dd/MM/yyyy HH:mm:ss)",
+            example = "21/05/2025 14:30:00",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private String updatedAt;
+
+    @Schema(
+            description = "Cantidad de modificaciones del proveedor, aumenta con cada cambio",
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private long version;
+
     public SupplierDto() {
     }
 
@@ -164,4 +178,20 @@ public class SupplierDto {
     public void setDeleted(boolean deleted) {
         this.deleted = deleted;
     }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -114,6 +114,20 @@ public class UserDto {
     )
     private boolean deleted;
 
+    @Schema(
+            description = "Fecha y hora de la última modificación del usuario (formato dd/MM/yyyy HH:mm:ss)",
+            example = "21/05/2025 14:30:00",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private String updatedAt;
+
+    @Schema(
+            description = "Cantidad de modificaciones del usuario, aumenta con cada cambio",
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private long version;
+
     public UserDto() {
     }
 
@@ -221,4 +235,20 @@ public class UserDto {
     public void setDeleted(boolean deleted) {
         this.deleted = deleted;
     }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
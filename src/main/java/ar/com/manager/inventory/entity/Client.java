@@ -1,12 +1,16 @@
 package ar.com.manager.inventory.entity;
 
+import ar.com.manager.inventory.changes.ChangeStamps;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "clients")
+@Table(name = "clients", uniqueConstraints = @UniqueConstraint(name = Client.UK_DNI, columnNames = "dni"),
+        indexes = @Index(name = "idx_clients_updated_at", columnList = "updatedAt, id"))
 public class Client {
+    public static final String UK_DNI = "uk_clients_dni";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +31,13 @@ public class Client {
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Sale> sales;
 
+    // Last change and number of changes of the row, read by the change feed
+    @Column(name = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Client() {
     }
 
@@ -90,4 +101,23 @@ public class Client {
     public void addSale(Sale sale) {
         this.sales.add(sale);
     }
+
+    @PrePersist
+    void onCreate() {
+        this.updatedAt = ChangeStamps.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = ChangeStamps.now();
+        this.version++;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,113 @@
+package ar.com.manager.inventory.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change of a sale or a product, written in the same transaction as the change and published later by
+ * OutboxRelay. The id gives the order of the events, publishedAt is null until the relay publishes it.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_published_at", columnList = "publishedAt, id"))
+public class OutboxEvent {
+    public static final String SALE = "SALE";
+    public static final String PRODUCT = "PRODUCT";
+
+    public static final String SALE_CREATED = "SALE_CREATED";
+    public static final String SALE_DELETED = "SALE_DELETED";
+    public static final String PRODUCT_CREATED = "PRODUCT_CREATED";
+    public static final String PRODUCT_UPDATED = "PRODUCT_UPDATED";
+    public static final String PRODUCT_DELETED = "PRODUCT_DELETED";
+    public static final String STOCK_CHANGED = "STOCK_CHANGED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregateType", nullable = false, length = 20)
+    private String aggregateType;
+
+    @Column(name = "aggregateId", nullable = false)
+    private Integer aggregateId;
+
+    @Column(name = "eventType", nullable = false, length = 40)
+    private String eventType;
+
+    // Event data as JSON
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "createdAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "publishedAt")
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String aggregateType, Integer aggregateId, String eventType, String payload, LocalDateTime createdAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public Integer getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(Integer aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -1,11 +1,20 @@
 package ar.com.manager.inventory.entity;
 
+import ar.com.manager.inventory.changes.ChangeStamps;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", uniqueConstraints = {
+        @UniqueConstraint(name = Product.UK_BAR_CODE, columnNames = "barCode"),
+        @UniqueConstraint(name = Product.UK_NUMBER, columnNames = "number")
+}, indexes = @Index(name = "idx_products_updated_at", columnList = "updatedAt, id"))
 public class Product {
+    public static final String UK_BAR_CODE = "uk_products_bar_code";
+    public static final String UK_NUMBER = "uk_products_number";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -34,6 +43,9 @@ public class Product {
     @Column(name = "image")
     private String image;
 
+    @Column(name = "reorderThreshold")
+    private Integer reorderThreshold;
+
     @Column(name = "deleted")
     private boolean deleted;
 
@@ -45,6 +57,13 @@ public class Product {
     @JoinColumn(name = "supplier_id")
     private Supplier supplier;
 
+    // Last change and number of changes of the row, read by the change feed
+    @Column(name = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Product() {
     }
 
@@ -135,6 +154,14 @@ public class Product {
         this.image = image;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
     public boolean getDeleted() {
         return deleted;
     }
@@ -158,4 +185,23 @@ public class Product {
     public void setSupplier(Supplier supplier) {
         this.supplier = supplier;
     }
+
+    @PrePersist
+    void onCreate() {
+        this.updatedAt = ChangeStamps.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = ChangeStamps.now();
+        this.version++;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
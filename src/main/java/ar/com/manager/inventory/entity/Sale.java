@@ -1,13 +1,35 @@
 package ar.com.manager.inventory.entity;
 
+import ar.com.manager.inventory.changes.ChangeStamps;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "sales")
+@Table(name = "sales", indexes = {
+        @Index(name = "idx_sales_deleted_sale_date", columnList = "deleted, saleDate"),
+        @Index(name = "idx_sales_updated_at", columnList = "updatedAt, id")
+})
+@NamedEntityGraph(
+        name = Sale.WITH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("client"),
+                @NamedAttributeNode(value = "saleDetails", subgraph = "saleDetails")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "saleDetails", attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product")),
+                @NamedSubgraph(name = "product", attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("supplier")})
+        }
+)
 public class Sale {
+
+    /**
+     * Entity graph with everything SaleMapper reads, so a list of sales is loaded in a single query
+     */
+    public static final String WITH_DETAILS = "Sale.withDetails";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -33,6 +55,13 @@ public class Sale {
     @JoinColumn(name = "sale_id")
     private List<SaleDetail> saleDetails;
 
+    // Last change and number of changes of the row, read by the change feed
+    @Column(name = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Sale() {
     }
 
@@ -101,4 +130,27 @@ public class Sale {
     public void setSaleDetails(List<SaleDetail> saleDetails) {
         this.saleDetails = saleDetails;
     }
+
+    @PrePersist
+    void onCreate() {
+        this.updatedAt = ChangeStamps.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = ChangeStamps.now();
+        this.version++;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
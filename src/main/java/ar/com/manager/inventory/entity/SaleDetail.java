@@ -3,7 +3,7 @@ package ar.com.manager.inventory.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "saleDetails")
+@Table(name = "saleDetails", indexes = @Index(name = "idx_sale_details_product_sale", columnList = "product_id, sale_id"))
 public class SaleDetail {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,6 +15,10 @@ public class SaleDetail {
     @Column(name = "deleted")
     private boolean deleted;
 
+    // Price of the product when it was sold, so a later price change doesn't alter the revenue of the sale
+    @Column(name = "unitPrice")
+    private Double unitPrice;
+
     @ManyToOne
     @JoinColumn(name = "product_id")
     private Product product;
@@ -53,6 +57,14 @@ public class SaleDetail {
         this.deleted = deleted;
     }
 
+    public Double getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(Double unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
     public Product getProduct() {
         return product;
     }
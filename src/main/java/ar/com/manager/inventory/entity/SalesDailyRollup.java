@@ -0,0 +1,121 @@
+package ar.com.manager.inventory.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Daily totals of the sales of a user and a client, maintained when sales are created or deleted.
+ * Rows with productId = 0 hold the totals of whole sales, the other rows the totals of each product.
+ * Sales without a client are stored with clientId = 0.
+ */
+@Entity
+@Table(name = "sales_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_daily_rollup", columnNames = {"saleDay", "user_id", "client_id", "product_id"}),
+        indexes = @Index(name = "idx_sales_daily_rollup_product_day", columnList = "product_id, saleDay"))
+public class SalesDailyRollup {
+    public static final int ALL_PRODUCTS = 0;
+    public static final int NO_CLIENT = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "saleDay", nullable = false)
+    private LocalDate saleDay;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "client_id", nullable = false)
+    private Integer clientId;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(name = "salesCount", nullable = false)
+    private long salesCount;
+
+    @Column(name = "units", nullable = false)
+    private long units;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    public SalesDailyRollup() {
+    }
+
+    public SalesDailyRollup(LocalDate saleDay, Integer userId, Integer clientId, Integer productId, long salesCount, long units, double revenue) {
+        this.saleDay = saleDay;
+        this.userId = userId;
+        this.clientId = clientId;
+        this.productId = productId;
+        this.salesCount = salesCount;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public LocalDate getSaleDay() {
+        return saleDay;
+    }
+
+    public void setSaleDay(LocalDate saleDay) {
+        this.saleDay = saleDay;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Integer clientId) {
+        this.clientId = clientId;
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public long getSalesCount() {
+        return salesCount;
+    }
+
+    public void setSalesCount(long salesCount) {
+        this.salesCount = salesCount;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -1,12 +1,20 @@
 package ar.com.manager.inventory.entity;
 
+import ar.com.manager.inventory.changes.ChangeStamps;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "suppliers")
+@Table(name = "suppliers", uniqueConstraints = {
+        @UniqueConstraint(name = Supplier.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = Supplier.UK_PHONE_NUMBER, columnNames = "phoneNumber")
+}, indexes = @Index(name = "idx_suppliers_updated_at", columnList = "updatedAt, id"))
 public class Supplier   {
+    public static final String UK_EMAIL = "uk_suppliers_email";
+    public static final String UK_PHONE_NUMBER = "uk_suppliers_phone_number";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -32,6 +40,13 @@ public class Supplier   {
     @OneToMany(mappedBy = "supplier")
     private List<Product> products;
 
+    // Last change and number of changes of the row, read by the change feed
+    @Column(name = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Supplier() {
     }
 
@@ -113,4 +128,23 @@ public class Supplier   {
     public void addProduct(Product product) {
         this.products.add(product);
     }
+
+    @PrePersist
+    void onCreate() {
+        this.updatedAt = ChangeStamps.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = ChangeStamps.now();
+        this.version++;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
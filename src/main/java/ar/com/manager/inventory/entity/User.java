@@ -1,12 +1,22 @@
 package ar.com.manager.inventory.entity;
 
+import ar.com.manager.inventory.changes.ChangeStamps;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UK_USER_NAME, columnNames = "userName"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = User.UK_PHONE_NUMBER, columnNames = "phoneNumber")
+}, indexes = @Index(name = "idx_users_updated_at", columnList = "updatedAt, id"))
 public class User {
+    public static final String UK_USER_NAME = "uk_users_user_name";
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_PHONE_NUMBER = "uk_users_phone_number";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -44,6 +54,13 @@ public class User {
     @OneToMany(mappedBy = "user")
     private List<Product> products;
 
+    // Last change and number of changes of the row, read by the change feed
+    @Column(name = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public User() {
     }
 
@@ -165,4 +182,23 @@ public class User {
     public void addProduct(Product product) {
         this.products.add(product);
     }
+
+    @PrePersist
+    void onCreate() {
+        this.updatedAt = ChangeStamps.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = ChangeStamps.now();
+        this.version++;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
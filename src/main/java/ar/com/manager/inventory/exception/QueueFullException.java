@@ -0,0 +1,8 @@
+package ar.com.manager.inventory.exception;
+
+public class QueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package ar.com.manager.inventory.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+
+public final class UniqueConstraints {
+    private UniqueConstraints() {}
+
+    /**
+     * Method to translate the violation of a unique constraint into a ValidationException with the message
+     * registered for that constraint. Violations of other constraints are thrown again unchanged.
+     */
+    public static ValidationException toValidationException(DataIntegrityViolationException e, Map<String, String> messages) {
+        String detail = e.getMostSpecificCause().getMessage();
+        if (detail != null) {
+            String lowerDetail = detail.toLowerCase();
+            for (Map.Entry<String, String> entry : messages.entrySet()) {
+                if (lowerDetail.contains(entry.getKey())) {
+                    return new ValidationException(entry.getValue());
+                }
+            }
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,55 @@
+package ar.com.manager.inventory.index;
+
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from barcode to product id of the non deleted products.
+ * It is built on startup and kept current by ProductServiceImpl.
+ */
+@Component
+public class ProductBarCodeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBarCodeIndex.class);
+
+    private final ProductRepository productRepository;
+    private final Map<String, Integer> productIds = new ConcurrentHashMap<>();
+
+    public ProductBarCodeIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        List<Product> products = productRepository.findByDeletedFalse();
+        products.stream()
+                .filter(product -> product.getBarCode() != null)
+                .forEach(product -> productIds.put(product.getBarCode(), product.getId()));
+        log.info("Barcode index built with {} products", productIds.size());
+    }
+
+    public Integer find(String barCode) {
+        return productIds.get(barCode);
+    }
+
+    public void put(String barCode, Integer productId) {
+        if (barCode != null) {
+            productIds.put(barCode, productId);
+        }
+    }
+
+    public void remove(String barCode, Integer productId) {
+        if (barCode != null) {
+            productIds.remove(barCode, productId);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package ar.com.manager.inventory.index;
+
+import ar.com.manager.inventory.dto.ProductFacetDto;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory aggregate of the non deleted products per category and per supplier: number of products
+ * and total stock, plus the ids of the products of each category. It is built on startup and kept
+ * current by ProductServiceImpl and by the stock decrements of the sales.
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetIndex.class);
+
+    private final ProductRepository productRepository;
+    //Last indexed version of each product, guarded by this
+    private final Map<Integer, Entry> products = new HashMap<>();
+    private final Map<String, Facet> categories = new ConcurrentHashMap<>();
+    private final Map<Integer, Facet> suppliers = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Integer>> categoryProducts = new ConcurrentHashMap<>();
+
+    public ProductFacetIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        List<Product> activeProducts = productRepository.findByDeletedFalse();
+        activeProducts.forEach(this::put);
+        log.info("Facet index built with {} products in {} categories", activeProducts.size(), categories.size());
+    }
+
+    /**
+     * Method to index a product, moving it out of the facets of its previous version
+     */
+    public synchronized void put(Product product) {
+        remove(product.getId());
+        Entry entry = new Entry(product.getCategory(),
+                product.getSupplier() == null ? null : product.getSupplier().getId(),
+                product.getStock() == null ? 0 : product.getStock());
+        products.put(product.getId(), entry);
+        if (entry.category != null) {
+            categories.computeIfAbsent(entry.category, key -> new Facet()).add(1, entry.stock);
+            categoryProducts.computeIfAbsent(entry.category, key -> new ConcurrentSkipListSet<>()).add(product.getId());
+        }
+        if (entry.supplierId != null) {
+            suppliers.computeIfAbsent(entry.supplierId, key -> new Facet()).add(1, entry.stock);
+        }
+    }
+
+    public synchronized void remove(Integer productId) {
+        Entry entry = products.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.category != null) {
+            subtract(categories, entry.category, entry.stock);
+            categoryProducts.computeIfPresent(entry.category, (key, ids) -> {
+                ids.remove(productId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (entry.supplierId != null) {
+            subtract(suppliers, entry.supplierId, entry.stock);
+        }
+    }
+
+    /**
+     * Method to apply the stock sold to the stock totals, without a full reindex of the products
+     */
+    public synchronized void decrementStock(Map<Integer, Integer> quantities) {
+        quantities.forEach((productId, amount) -> {
+            Entry entry = products.get(productId);
+            if (entry == null) {
+                return;
+            }
+            entry.stock -= amount;
+            if (entry.category != null) {
+                categories.get(entry.category).add(0, -amount);
+            }
+            if (entry.supplierId != null) {
+                suppliers.get(entry.supplierId).add(0, -amount);
+            }
+        });
+    }
+
+    public List<ProductFacetDto> categoryFacets() {
+        List<ProductFacetDto> facets = new ArrayList<>();
+        categories.forEach((category, facet) -> facets.add(facet.toDto(category)));
+        facets.sort(Comparator.comparing(ProductFacetDto::getValue));
+        return facets;
+    }
+
+    public List<ProductFacetDto> supplierFacets() {
+        List<ProductFacetDto> facets = new ArrayList<>();
+        suppliers.forEach((supplierId, facet) -> facets.add(facet.toDto(String.valueOf(supplierId))));
+        facets.sort(Comparator.comparing(facet -> Integer.valueOf(facet.getValue())));
+        return facets;
+    }
+
+    /**
+     * Method to get, in ascending order, up to limit ids of the products of a category greater than the given one
+     */
+    public List<Integer> findByCategory(String category, Integer after, int limit) {
+        NavigableSet<Integer> ids = categoryProducts.get(category);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> page = new ArrayList<>(limit);
+        for (Integer id : after == null ? ids : ids.tailSet(after, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(id);
+        }
+        return page;
+    }
+
+    private static <K> void subtract(Map<K, Facet> facets, K key, long stock) {
+        facets.computeIfPresent(key, (k, facet) -> {
+            facet.add(-1, -stock);
+            return facet.count.get() == 0 ? null : facet;
+        });
+    }
+
+    private static final class Entry {
+        private final String category;
+        private final Integer supplierId;
+        private long stock;
+
+        private Entry(String category, Integer supplierId, long stock) {
+            this.category = category;
+            this.supplierId = supplierId;
+            this.stock = stock;
+        }
+    }
+
+    private static final class Facet {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong stock = new AtomicLong();
+
+        private void add(long products, long units) {
+            count.addAndGet(products);
+            stock.addAndGet(units);
+        }
+
+        private ProductFacetDto toDto(String value) {
+            return new ProductFacetDto(value, count.get(), stock.get());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ar.com.manager.inventory.index;
+
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the name, description and category of the non deleted products.
+ * Terms are kept sorted so a query token matches every term that starts with it. It is built on
+ * startup and kept current by ProductServiceImpl.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    //An exact term match scores more than a match on a longer term
+    private static final int EXACT_MATCH_FACTOR = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProductRepository productRepository;
+    //term -> (product id -> weight of the term in that product)
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new ConcurrentSkipListMap<>();
+    //product id -> terms indexed for it, used to unindex the previous version on updates
+    private final Map<Integer, Map<String, Integer>> productTerms = new ConcurrentHashMap<>();
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        List<Product> products = productRepository.findByDeletedFalse();
+        products.forEach(this::put);
+        log.info("Search index built with {} products and {} terms", productTerms.size(), postings.size());
+    }
+
+    /**
+     * Method to index a product, replacing the terms of its previous version
+     */
+    public synchronized void put(Product product) {
+        remove(product.getId());
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+        productTerms.put(product.getId(), terms);
+    }
+
+    public synchronized void remove(Integer productId) {
+        Map<String, Integer> terms = productTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            postings.computeIfPresent(term, (key, products) -> {
+                products.remove(productId);
+                return products.isEmpty() ? null : products;
+            });
+        }
+    }
+
+    /**
+     * Method to search the products matching every token of the query, ordered by score and then by id.
+     * Only the ids of the requested page are returned, together with the total number of hits.
+     */
+    public Page search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new Page(Collections.emptyList(), 0);
+        }
+        Map<Integer, Integer> scores = null;
+        for (String token : tokens) {
+            //Only the products that matched the previous tokens are scored
+            Map<Integer, Integer> previousScores = scores;
+            scores = score(token, previousScores);
+            if (previousScores != null) {
+                scores.replaceAll((id, score) -> score + previousScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return new Page(Collections.emptyList(), 0);
+            }
+        }
+        return new Page(top(scores, offset, limit), scores.size());
+    }
+
+    private Map<Integer, Integer> score(String token, Map<Integer, Integer> candidates) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Integer>> entry : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int factor = entry.getKey().equals(token) ? EXACT_MATCH_FACTOR : 1;
+            entry.getValue().forEach((id, weight) -> {
+                if (candidates == null || candidates.containsKey(id)) {
+                    scores.merge(id, weight * factor, Math::max);
+                }
+            });
+        }
+        return scores;
+    }
+
+    private List<Integer> top(Map<Integer, Integer> scores, int offset, int limit) {
+        int size = offset + limit;
+        if (offset >= scores.size()) {
+            return Collections.emptyList();
+        }
+        Comparator<Map.Entry<Integer, Integer>> ranking = Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        //Min-heap on the ranking, holding only the best offset + limit hits
+        PriorityQueue<Map.Entry<Integer, Integer>> best = new PriorityQueue<>(size + 1, ranking.reversed());
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            best.add(entry);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        List<Integer> ids = new ArrayList<>(limit);
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static class Page {
+        private final List<Integer> productIds;
+        private final int total;
+
+        public Page(List<Integer> productIds, int total) {
+            this.productIds = productIds;
+            this.total = total;
+        }
+
+        public List<Integer> getProductIds() {
+            return productIds;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import ar.com.manager.inventory.entity.Client;
 import ar.com.manager.inventory.entity.Sale;
 import ar.com.manager.inventory.entity.User;
 import ar.com.manager.inventory.repository.ClientRepository;
+import ar.com.manager.inventory.util.Util;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -20,19 +21,29 @@ public class ClientMapper {
     }
 
     public ClientDto toDto(Client client) {
-        ClientDto clientDto = new ClientDto();
+        ClientDto clientDto = toDtoWithoutSales(client);
         List<SaleDto> sales = new ArrayList<>();
-        clientDto.setId(client.getId());
-        clientDto.setFirstName(client.getFirstName());
-        clientDto.setLastName(client.getLastName());
-        clientDto.setDni( client.getDni());
         clientDto.setSales(sales);
         if(client.getSales() != null ) {
             for (Sale sale : client.getSales()) {
                 clientDto.addSale(saleMapper.toDto(sale));
             }
         }
+        return clientDto;
+    }
+
+    /**
+     * Method to map a client without loading its sales, used by the change feed
+     */
+    public ClientDto toDtoWithoutSales(Client client) {
+        ClientDto clientDto = new ClientDto();
+        clientDto.setId(client.getId());
+        clientDto.setFirstName(client.getFirstName());
+        clientDto.setLastName(client.getLastName());
+        clientDto.setDni( client.getDni());
         clientDto.setDeleted(client.getDeleted());
+        clientDto.setUpdatedAt(Util.localDateTimeToString(client.getUpdatedAt()));
+        clientDto.setVersion(client.getVersion());
         return clientDto;
     }
 
@@ -5,6 +5,7 @@ import ar.com.manager.inventory.entity.Product;
 import ar.com.manager.inventory.exception.NotFoundException;
 import ar.com.manager.inventory.repository.SupplierRepository;
 import ar.com.manager.inventory.repository.UserRepository;
+import ar.com.manager.inventory.util.Util;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -28,11 +29,14 @@ public class ProductMapper {
         productDto.setDescription(product.getDescription());
         productDto.setCategory(product.getCategory());
         productDto.setImage(product.getImage());
+        productDto.setReorderThreshold(product.getReorderThreshold());
         productDto.setUserId(product.getUser().getId());
         if(product.getSupplier() != null){
             productDto.setSupplierId(product.getSupplier().getId());
         }
         productDto.setDeleted(product.getDeleted());
+        productDto.setUpdatedAt(Util.localDateTimeToString(product.getUpdatedAt()));
+        productDto.setVersion(product.getVersion());
         return productDto;
     }
     public Product toEntity(ProductDto productDto) throws NotFoundException {
@@ -45,6 +49,7 @@ public class ProductMapper {
         product.setDescription(productDto.getDescription());
         product.setCategory(productDto.getCategory());
         product.setImage(productDto.getImage());
+        product.setReorderThreshold(productDto.getReorderThreshold());
         if(productDto.getUserId()!=null){
             product.setUser(userRepository.findById(productDto.getUserId())
                                           .orElseThrow(() -> new NotFoundException("User not found")));
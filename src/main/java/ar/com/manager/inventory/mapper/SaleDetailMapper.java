@@ -1,6 +1,7 @@
 package ar.com.manager.inventory.mapper;
 
 import ar.com.manager.inventory.dto.SaleDetailDto;
+import ar.com.manager.inventory.entity.Product;
 import ar.com.manager.inventory.entity.SaleDetail;
 import ar.com.manager.inventory.exception.NotFoundException;
 import ar.com.manager.inventory.repository.ProductRepository;
@@ -33,4 +34,11 @@ public class SaleDetailMapper {
         }
         return saleDetail;
     }
+
+    public SaleDetail toEntity(SaleDetailDto saleDetailDto, Product product) {
+        SaleDetail saleDetail = new SaleDetail();
+        saleDetail.setAmount(saleDetailDto.getAmount());
+        saleDetail.setProduct(product);
+        return saleDetail;
+    }
 }
@@ -40,6 +40,8 @@ public class SaleMapper {
             saleDto.addSaleDetail(saleDetailMapper.toDto(saleDetail));
         }
         saleDto.setDeleted(sale.getDeleted());
+        saleDto.setUpdatedAt(Util.localDateTimeToString(sale.getUpdatedAt()));
+        saleDto.setVersion(sale.getVersion());
         return saleDto;
 }
 
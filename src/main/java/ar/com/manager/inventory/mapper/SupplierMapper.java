@@ -4,6 +4,7 @@ import ar.com.manager.inventory.dto.ProductDto;
 import ar.com.manager.inventory.dto.SupplierDto;
 import ar.com.manager.inventory.entity.Product;
 import ar.com.manager.inventory.entity.Supplier;
+import ar.com.manager.inventory.util.Util;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -18,21 +19,31 @@ public class SupplierMapper {
     }
 
     public SupplierDto toDto(Supplier supplier) {
-        SupplierDto supplierDto = new SupplierDto();
+        SupplierDto supplierDto = toDtoWithoutProducts(supplier);
         List<ProductDto> products = new ArrayList<>();
-        supplierDto.setId(supplier.getId());
-        supplierDto.setFirstName(supplier.getFirstName());
-        supplierDto.setLastName(supplier.getLastName());
-        supplierDto.setPhoneNumber(supplier.getPhoneNumber());
-        supplierDto.setEmail(supplier.getEmail());
-        supplierDto.setCompany(supplier.getCompany());
         supplierDto.setProducts(products);
         if(supplier.getProducts() != null ) {
             for (Product product : supplier.getProducts()) {
                 supplierDto.addProduct(productMapper.toDto(product));
             }
         }
+        return supplierDto;
+    }
+
+    /**
+     * Method to map a supplier without loading its products, used by the change feed
+     */
+    public SupplierDto toDtoWithoutProducts(Supplier supplier) {
+        SupplierDto supplierDto = new SupplierDto();
+        supplierDto.setId(supplier.getId());
+        supplierDto.setFirstName(supplier.getFirstName());
+        supplierDto.setLastName(supplier.getLastName());
+        supplierDto.setPhoneNumber(supplier.getPhoneNumber());
+        supplierDto.setEmail(supplier.getEmail());
+        supplierDto.setCompany(supplier.getCompany());
         supplierDto.setDeleted(supplier.getDeleted());
+        supplierDto.setUpdatedAt(Util.localDateTimeToString(supplier.getUpdatedAt()));
+        supplierDto.setVersion(supplier.getVersion());
         return supplierDto;
     }
     public Supplier toEntity(SupplierDto supplierDto) {
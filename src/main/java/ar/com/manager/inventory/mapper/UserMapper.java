@@ -4,6 +4,7 @@ import ar.com.manager.inventory.dto.SaleDto;
 import ar.com.manager.inventory.dto.UserDto;
 import ar.com.manager.inventory.entity.Sale;
 import ar.com.manager.inventory.entity.User;
+import ar.com.manager.inventory.util.Util;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -17,8 +18,22 @@ public class UserMapper {
         this.saleMapper = saleMapper;
     }
     public UserDto toDto(User user) {
-        UserDto userDto = new UserDto();
+        UserDto userDto = toDtoWithoutSales(user);
         List<SaleDto> sales = new ArrayList<>();
+        userDto.setSales(sales);
+        if(user.getSales() != null ) {
+            for(Sale sale : user.getSales()){
+                userDto.addSale(saleMapper.toDto(sale));
+            }
+        }
+        return userDto;
+    }
+
+    /**
+     * Method to map a user without loading its sales, used by the change feed
+     */
+    public UserDto toDtoWithoutSales(User user) {
+        UserDto userDto = new UserDto();
         userDto.setId(user.getId());
         userDto.setFirstName(user.getFirstName());
         userDto.setLastName(user.getLastName());
@@ -27,13 +42,9 @@ public class UserMapper {
         userDto.setEmail(user.getEmail());
         userDto.setType(user.getType());
         userDto.setEnabled(user.isEnabled());
-        userDto.setSales(sales);
-        if(user.getSales() != null ) {
-            for(Sale sale : user.getSales()){
-                userDto.addSale(saleMapper.toDto(sale));
-            }
-        }
         userDto.setDeleted(user.getDeleted());
+        userDto.setUpdatedAt(Util.localDateTimeToString(user.getUpdatedAt()));
+        userDto.setVersion(user.getVersion());
         return userDto;
     }
     public User toEntity(UserDto userDto) {
@@ -0,0 +1,65 @@
+package ar.com.manager.inventory.metrics;
+
+import ar.com.manager.inventory.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of SQL statements of each request in the inventory.http.statements summary,
+ * tagged like http.server.requests with the method and the URI template. Requests over the budget of
+ * their route are logged and counted in inventory.http.statements.over.budget, and when the budget is
+ * enforced the statement that goes over it fails, so the request ends in an error.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties sqlBudget;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, SqlBudgetProperties sqlBudget) {
+        this.meterRegistry = meterRegistry;
+        this.sqlBudget = sqlBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Integer budget = sqlBudget.budgetOf(request.getMethod(), uri(request));
+        if (budget != null && sqlBudget.isFailOnExceeded()) {
+            StatementCounter.start(budget);
+        } else {
+            StatementCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = StatementCounter.stop();
+        String method = request.getMethod();
+        String uri = uri(request);
+        DistributionSummary.builder("inventory.http.statements")
+                .description("SQL statements per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        Integer budget = sqlBudget.budgetOf(method, uri);
+        if (budget != null && statements > budget) {
+            log.warn("{} {} ran {} SQL statements, over its budget of {}", method, uri, statements, budget);
+            meterRegistry.counter("inventory.http.statements.over.budget", "method", method, "uri", uri).increment();
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
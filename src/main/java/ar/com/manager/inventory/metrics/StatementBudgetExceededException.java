@@ -0,0 +1,11 @@
+package ar.com.manager.inventory.metrics;
+
+/**
+ * Thrown when a request prepares more statements than its budget and the budget is enforced.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(int budget) {
+        super("The request exceeded its budget of " + budget + " SQL statements");
+    }
+}
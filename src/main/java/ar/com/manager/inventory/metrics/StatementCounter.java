@@ -0,0 +1,50 @@
+package ar.com.manager.inventory.metrics;
+
+/**
+ * Counts the JDBC statements prepared by the current thread between start and stop.
+ * Statements prepared while no count is running are ignored.
+ */
+public final class StatementCounter {
+    private StatementCounter() {}
+
+    private static final int NO_LIMIT = -1;
+
+    //Number of statements and limit of the running count
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        start(NO_LIMIT);
+    }
+
+    /**
+     * Method to start a count that throws StatementBudgetExceededException on the first statement over the limit
+     */
+    public static void start(int limit) {
+        COUNT.set(new int[]{0, limit});
+    }
+
+    /**
+     * Method to finish the count of the current thread and get the number of statements
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count == null) {
+            return;
+        }
+        count[0]++;
+        if (count[1] != NO_LIMIT && count[0] > count[1]) {
+            throw new StatementBudgetExceededException(count[1]);
+        }
+    }
+}
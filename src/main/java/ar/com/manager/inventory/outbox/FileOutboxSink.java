@@ -0,0 +1,46 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends the published events to a file, one JSON object per line, as a stand-in for a message broker.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("id", event.getId());
+                line.put("aggregateType", event.getAggregateType());
+                line.put("aggregateId", event.getAggregateId());
+                line.put("eventType", event.getEventType());
+                line.put("createdAt", event.getCreatedAt().toString());
+                //The payload is already JSON, it is embedded as it is
+                line.put("payload", objectMapper.readTree(event.getPayload()));
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.write('\n');
+            }
+        }
+    }
+}
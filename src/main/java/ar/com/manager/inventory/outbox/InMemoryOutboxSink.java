@@ -0,0 +1,35 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the last published events in memory, for tests and local runs.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> published) {
+        for (OutboxEvent event : published) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<OutboxEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+}
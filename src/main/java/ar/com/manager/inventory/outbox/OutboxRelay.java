@@ -0,0 +1,87 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+import ar.com.manager.inventory.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes the unpublished outbox events to the OutboxSink in batches and marks them as published.
+ * An event is marked only after the sink accepted it, so a failure leaves it to be published again.
+ * The published events are deleted after inventory.outbox.retention-hours, unpublished ones are never deleted.
+ * It is only created when inventory.outbox.enabled is true.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final int batchSize;
+    private final int retentionHours;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter purged;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink, MeterRegistry meterRegistry,
+                       @Value("${inventory.outbox.batch-size:500}") int batchSize,
+                       @Value("${inventory.outbox.retention-hours:24}") int retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.batchSize = Math.max(batchSize, 1);
+        this.retentionHours = retentionHours;
+        this.published = meterRegistry.counter("inventory.outbox.published");
+        this.failures = meterRegistry.counter("inventory.outbox.failures");
+        this.purged = meterRegistry.counter("inventory.outbox.purged");
+    }
+
+    /**
+     * Method to publish every pending event, a batch at a time
+     */
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay-interval:1000}")
+    public void relay() {
+        List<OutboxEvent> events;
+        do {
+            events = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+            try {
+                outboxSink.publish(events);
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Outbox events {} to {} could not be published", events.get(0).getId(), events.get(events.size() - 1).getId(), e);
+                return;
+            }
+            outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+            published.increment(events.size());
+        } while (events.size() == batchSize);
+    }
+
+    /**
+     * Method to delete the events published more than retentionHours ago. A retention of 0 or less keeps them
+     */
+    @Scheduled(fixedDelayString = "${inventory.outbox.purge-interval:3600000}")
+    public void purge() {
+        if (retentionHours <= 0) {
+            return;
+        }
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            purged.increment(deleted);
+            log.info("{} outbox events published more than {} hours ago were deleted", deleted, retentionHours);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the events published by OutboxRelay, for example a message broker. Events are delivered
+ * at least once, ordered by id within each call; if publish throws, the same events are offered again on
+ * the next run, so consumers should ignore ids they have already seen.
+ * Declaring a bean of this type replaces the sink chosen with inventory.outbox.sink.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,88 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.entity.Sale;
+import ar.com.manager.inventory.entity.SaleDetail;
+import ar.com.manager.inventory.mapper.ProductMapper;
+import ar.com.manager.inventory.mapper.SaleMapper;
+import ar.com.manager.inventory.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the outbox events of sale and product changes. It must be called inside the transaction of the
+ * change, so the events are committed or rolled back with it. Sales and products are serialized with the
+ * same DTOs the API returns. It is only created when inventory.outbox.enabled is true.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "true")
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SaleMapper saleMapper;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, SaleMapper saleMapper, ProductMapper productMapper, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.saleMapper = saleMapper;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Method to write a SALE_CREATED event for each sale and a STOCK_CHANGED event for each product sold, with the
+     * signed change of its stock (delta) and the stock read back after the update. Events of concurrent sales can be
+     * relayed in a different order than their commits, so consumers should apply the delta rather than the stock
+     */
+    public void salesCreated(List<Sale> sales, Map<Integer, Integer> stocks) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(sales.size() + stocks.size());
+        Map<Integer, Integer> deltas = new HashMap<>();
+        for (Sale sale : sales) {
+            events.add(event(OutboxEvent.SALE, sale.getId(), OutboxEvent.SALE_CREATED, saleMapper.toDto(sale), now));
+            for (SaleDetail detail : sale.getSaleDetails()) {
+                deltas.merge(detail.getProduct().getId(), -detail.getAmount(), Integer::sum);
+            }
+        }
+        stocks.forEach((productId, stock) -> {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("productId", productId);
+            payload.put("delta", deltas.getOrDefault(productId, 0));
+            payload.put("stock", stock);
+            events.add(event(OutboxEvent.PRODUCT, productId, OutboxEvent.STOCK_CHANGED, payload, now));
+        });
+        outboxEventRepository.addAll(events);
+    }
+
+    public void saleDeleted(Sale sale) {
+        outboxEventRepository.addAll(List.of(
+                event(OutboxEvent.SALE, sale.getId(), OutboxEvent.SALE_DELETED, saleMapper.toDto(sale), LocalDateTime.now())));
+    }
+
+    /**
+     * Method to write a PRODUCT_CREATED, PRODUCT_UPDATED or PRODUCT_DELETED event
+     */
+    public void productChanged(Product product, String eventType) {
+        outboxEventRepository.addAll(List.of(
+                event(OutboxEvent.PRODUCT, product.getId(), eventType, productMapper.toDto(product), LocalDateTime.now())));
+    }
+
+    private OutboxEvent event(String aggregateType, Integer aggregateId, String eventType, Object payload, LocalDateTime createdAt) {
+        try {
+            return new OutboxEvent(aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(payload), createdAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("The " + eventType + " event of " + aggregateId + " could not be serialized", e);
+        }
+    }
+}
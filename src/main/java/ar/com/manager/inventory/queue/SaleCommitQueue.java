@@ -0,0 +1,196 @@
+package ar.com.manager.inventory.queue;
+
+import ar.com.manager.inventory.dto.SaleBatchResultDto;
+import ar.com.manager.inventory.dto.SaleCommitStatusDto;
+import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.exception.QueueFullException;
+import ar.com.manager.inventory.service.SaleService;
+import ar.com.manager.inventory.util.Util;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process queue of sales accepted by POST /sales/async. Worker threads take up to batch-size
+ * sales at a time and commit them with SaleService.addSales, so a burst of sales costs one transaction per
+ * batch instead of one per sale. Each sale is identified by the idempotency key of the client: a retry with
+ * the same key gets the status of the first attempt instead of creating a second sale. Statuses are kept
+ * for the retention period and, like the queued sales, are lost if the process stops.
+ * It is only created when inventory.sale-queue.enabled is true.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.sale-queue.enabled", havingValue = "true")
+public class SaleCommitQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SaleCommitQueue.class);
+
+    private final SaleService saleService;
+    private final BlockingQueue<QueuedSale> queue;
+    private final Cache<String, SaleCommitStatusDto> statuses;
+    private final int batchSize;
+    private final int workerCount;
+    private final Counter duplicates;
+    private final Counter rejections;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public SaleCommitQueue(SaleService saleService, MeterRegistry meterRegistry,
+                           @Value("${inventory.sale-queue.capacity:10000}") int capacity,
+                           @Value("${inventory.sale-queue.batch-size:100}") int batchSize,
+                           @Value("${inventory.sale-queue.workers:2}") int workerCount,
+                           @Value("${inventory.sale-queue.retention-minutes:60}") long retentionMinutes) {
+        this.saleService = saleService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .build();
+        this.batchSize = Math.max(batchSize, 1);
+        this.workerCount = Math.max(workerCount, 1);
+        this.duplicates = meterRegistry.counter("inventory.sale.queue.duplicates");
+        this.rejections = meterRegistry.counter("inventory.sale.queue.rejections");
+        Gauge.builder("inventory.sale.queue.size", queue, BlockingQueue::size)
+                .description("Sales accepted and not yet committed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform().name("sale-queue-", 0).factory());
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::work);
+        }
+        log.info("Sale queue started with {} workers and batches of up to {} sales", workerCount, batchSize);
+    }
+
+    /**
+     * Method to stop taking new work once the sales already in the queue are committed
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Sale queue stopped with {} sales not committed", queue.size());
+        }
+    }
+
+    /**
+     * Method to enqueue a sale under its idempotency key. If the key is already known, the sale is not enqueued
+     * again and the status of the first attempt is returned, unless that attempt failed unexpectedly.
+     */
+    public SaleCommitStatusDto submit(String idempotencyKey, SaleDto saleDto) throws QueueFullException {
+        LocalDateTime now = LocalDateTime.now();
+        if (saleDto.getSaleDate() == null) {
+            //The sale is dated when it is accepted, not when a worker commits it
+            saleDto.setSaleDate(Util.localDateTimeToString(now));
+        }
+        SaleCommitStatusDto pending = SaleCommitStatusDto.pending(idempotencyKey, Util.localDateTimeToString(now));
+        SaleCommitStatusDto status = statuses.asMap().compute(idempotencyKey, (key, current) ->
+                current == null || SaleCommitStatusDto.FAILED.equals(current.getStatus()) ? pending : current);
+        if (status != pending) {
+            duplicates.increment();
+            return status;
+        }
+        if (!queue.offer(new QueuedSale(idempotencyKey, saleDto))) {
+            statuses.asMap().remove(idempotencyKey, pending);
+            rejections.increment();
+            throw new QueueFullException("The sale queue is full, retry later");
+        }
+        return pending;
+    }
+
+    public SaleCommitStatusDto getStatus(String idempotencyKey) {
+        return statuses.getIfPresent(idempotencyKey);
+    }
+
+    private void work() {
+        List<QueuedSale> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedSale first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Method to commit a batch in a single transaction. If the whole batch fails, its sales are committed one
+     * by one so a single sale cannot fail the others.
+     */
+    private void commit(List<QueuedSale> batch) {
+        try {
+            List<SaleBatchResultDto> results = saleService.addSales(batch.stream().map(QueuedSale::getSale).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), results.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                batch.forEach(sale -> commit(List.of(sale)));
+                return;
+            }
+            log.warn("Sale with idempotency key {} could not be committed", batch.get(0).getIdempotencyKey(), e);
+            complete(batch.get(0), new SaleBatchResultDto(0, null, null, SaleCommitStatusDto.FAILED, e.getMessage()));
+        }
+    }
+
+    private void complete(QueuedSale queuedSale, SaleBatchResultDto result) {
+        statuses.asMap().computeIfPresent(queuedSale.getIdempotencyKey(), (key, current) ->
+                new SaleCommitStatusDto(key, result.getStatus(), result.getSaleId(), result.getTotalPrice(), result.getError(),
+                        current.getAcceptedAt()));
+    }
+
+    private static final class QueuedSale {
+        private final String idempotencyKey;
+        private final SaleDto sale;
+
+        private QueuedSale(String idempotencyKey, SaleDto sale) {
+            this.idempotencyKey = idempotencyKey;
+            this.sale = sale;
+        }
+
+        private String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        private SaleDto getSale() {
+            return sale;
+        }
+    }
+}
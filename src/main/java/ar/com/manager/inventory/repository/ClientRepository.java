@@ -1,16 +1,23 @@
 package ar.com.manager.inventory.repository;
 
 import ar.com.manager.inventory.entity.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Integer> {
-    boolean existsByDni(String dni);
     Client findByDni(String dni);
     List<Client> findByDeletedFalse();
-    boolean existsByDniAndIdNot(String dni, Integer id);
+    List<Client> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 
+    //Change feed: rows changed after the watermark and before until, in (updatedAt, id) order over the (updatedAt, id) index
+    @Query("SELECT c FROM Client c WHERE (c.updatedAt > :since OR (c.updatedAt = :since AND c.id > :afterId)) " +
+            "AND c.updatedAt < :until ORDER BY c.updatedAt, c.id")
+    List<Client> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId, @Param("until") LocalDateTime until, Limit limit);
 }
@@ -0,0 +1,13 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Method to insert the events in a single JDBC batch, in the transaction of the caller
+     */
+    void addAll(List<OutboxEvent> events);
+}
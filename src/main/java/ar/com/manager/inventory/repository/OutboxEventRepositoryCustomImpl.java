@@ -0,0 +1,45 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private static final String INSERT =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxEventRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OutboxEvent event = events.get(i);
+                ps.setString(1, event.getAggregateType());
+                ps.setInt(2, event.getAggregateId());
+                ps.setString(3, event.getEventType());
+                ps.setString(4, event.getPayload());
+                ps.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+}
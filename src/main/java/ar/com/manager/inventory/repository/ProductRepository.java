@@ -1,17 +1,38 @@
 package ar.com.manager.inventory.repository;
 
 import ar.com.manager.inventory.entity.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
-    boolean existsByBarCode(String barcode);
-    boolean existsByNumber(String number);
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductRepositoryCustom {
+
+    interface Stock {
+        Integer getId();
+        int getStock();
+    }
+
     List<Product> findByDeletedFalse();
+    List<Product> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
     Product findByIdAndDeletedFalse(Integer id);
-    boolean existsByNumberAndIdNot(String number, Integer id);
-    boolean existsByBarCodeAndIdNot(String barCode, Integer id);
+    Product findByBarCodeAndDeletedFalse(String barCode);
+    List<Product> findByIdInAndDeletedFalse(Collection<Integer> ids);
+
+    //Current stock, read after decrementStock so it includes the sales committed concurrently
+    @Query("SELECT p.id AS id, p.stock AS stock FROM Product p WHERE p.id IN :ids")
+    List<Stock> findStockByIdIn(@Param("ids") Collection<Integer> ids);
+
+    //Change feed: rows changed after the watermark and before until, in (updatedAt, id) order over the (updatedAt, id) index
+    @EntityGraph(attributePaths = {"user", "supplier"})
+    @Query("SELECT p FROM Product p WHERE (p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId)) " +
+            "AND p.updatedAt < :until ORDER BY p.updatedAt, p.id")
+    List<Product> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId, @Param("until") LocalDateTime until, Limit limit);
 }
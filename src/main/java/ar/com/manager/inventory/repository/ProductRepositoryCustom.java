@@ -0,0 +1,20 @@
+package ar.com.manager.inventory.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Method to subtract the given amounts from the stock of several products in a single UPDATE statement.
+     * A product is only updated when it is not deleted and its stock covers the amount, so the returned
+     * number of affected rows is lower than the number of products when any of them lacks stock.
+     */
+    int decrementStock(Map<Integer, Integer> quantities);
+
+    /**
+     * Method to subtract the given amounts with one UPDATE per product, sent as a single JDBC batch. Unlike
+     * decrementStock it tells which products were skipped, because they are deleted or lack the stock.
+     */
+    Set<Integer> decrementStockEach(Map<Integer, Integer> quantities);
+}
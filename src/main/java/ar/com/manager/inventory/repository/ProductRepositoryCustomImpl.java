@@ -0,0 +1,102 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.changes.ChangeStamps;
+import ar.com.manager.inventory.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String DECREMENT_STOCK =
+            "UPDATE products SET stock = stock - ?, updated_at = ?, version = version + 1 WHERE id = ? AND deleted = false AND stock >= ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public int decrementStock(Map<Integer, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+
+        CriteriaBuilder.SimpleCase<Integer, Integer> amount = cb.selectCase(root.<Integer>get("id"));
+        quantities.forEach((id, quantity) -> amount.when(id, quantity));
+
+        Expression<Integer> requested = amount.otherwise(0);
+        update.set(root.<Integer>get("stock"), cb.diff(root.<Integer>get("stock"), requested));
+        //A bulk update skips the entity callbacks, the change feed columns are set here
+        update.set(root.<LocalDateTime>get("updatedAt"), ChangeStamps.now());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(
+                root.<Integer>get("id").in(quantities.keySet()),
+                cb.isFalse(root.<Boolean>get("deleted")),
+                cb.greaterThanOrEqualTo(root.<Integer>get("stock"), requested));
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        //The bulk update skips the persistence context: only the changed products are detached, so their old stock
+        //is not written back at commit, and the other entities of the caller's transaction stay managed
+        quantities.keySet().forEach(id -> entityManager.detach(entityManager.getReference(Product.class, id)));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public Set<Integer> decrementStockEach(Map<Integer, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        Timestamp now = Timestamp.valueOf(ChangeStamps.now());
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_STOCK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Integer, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setInt(3, entry.getKey());
+                ps.setInt(4, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+        Set<Integer> skipped = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            //Drivers that do not report the count return SUCCESS_NO_INFO, only an explicit 0 is a skipped product
+            if (counts[i] == 0) {
+                skipped.add(entries.get(i).getKey());
+            }
+        }
+        return skipped;
+    }
+}
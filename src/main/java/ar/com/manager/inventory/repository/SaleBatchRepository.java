@@ -0,0 +1,117 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.changes.ChangeStamps;
+import ar.com.manager.inventory.entity.Sale;
+import ar.com.manager.inventory.entity.SaleDetail;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts for sales. Used by every path that creates sales, because the IDENTITY ids of the
+ * entities prevent Hibernate from batching the inserts: a sale costs the same statements whatever its lines.
+ */
+@Repository
+@Timed("inventory.repository.sale.batch")
+public class SaleBatchRepository {
+
+    private static final String INSERT_SALE =
+            "INSERT INTO sales (sale_date, total_price, deleted, user_id, client_id, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_SALE_DETAIL =
+            "INSERT INTO sale_details (amount, deleted, unit_price, product_id, sale_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SaleBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Method to insert the sales and their details in two batches. The generated ids are set on the given sales
+     * and details, which are left unmanaged.
+     */
+    public void insertAll(List<Sale> sales) {
+        if (sales.isEmpty()) {
+            return;
+        }
+        //The inserts skip the entity callbacks, the change feed timestamp is set here
+        LocalDateTime now = ChangeStamps.now();
+        sales.forEach(sale -> sale.setUpdatedAt(now));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SALE, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Sale sale = sales.get(i);
+                        ps.setTimestamp(1, Timestamp.valueOf(sale.getSaleDate()));
+                        ps.setDouble(2, sale.getTotalPrice());
+                        ps.setBoolean(3, sale.getDeleted());
+                        ps.setInt(4, sale.getUser().getId());
+                        if (sale.getClient() != null) {
+                            ps.setInt(5, sale.getClient().getId());
+                        } else {
+                            ps.setNull(5, Types.INTEGER);
+                        }
+                        ps.setTimestamp(6, Timestamp.valueOf(sale.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return sales.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<SaleDetail> details = new ArrayList<>();
+        List<Integer> detailSaleIds = new ArrayList<>();
+        for (int i = 0; i < sales.size(); i++) {
+            Sale sale = sales.get(i);
+            sale.setId(((Number) keys.get(i).values().iterator().next()).intValue());
+            for (SaleDetail detail : sale.getSaleDetails()) {
+                details.add(detail);
+                detailSaleIds.add(sale.getId());
+            }
+        }
+
+        KeyHolder detailKeyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SALE_DETAIL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SaleDetail detail = details.get(i);
+                        ps.setInt(1, detail.getAmount());
+                        ps.setBoolean(2, detail.getDeleted());
+                        ps.setDouble(3, detail.getUnitPrice());
+                        ps.setInt(4, detail.getProduct().getId());
+                        ps.setInt(5, detailSaleIds.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return details.size();
+                    }
+                },
+                detailKeyHolder);
+
+        List<Map<String, Object>> detailKeys = detailKeyHolder.getKeyList();
+        for (int i = 0; i < details.size(); i++) {
+            details.get(i).setId(((Number) detailKeys.get(i).values().iterator().next()).intValue());
+        }
+    }
+}
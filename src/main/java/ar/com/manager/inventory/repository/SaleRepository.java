@@ -1,27 +1,76 @@
 package ar.com.manager.inventory.repository;
 
 import ar.com.manager.inventory.entity.Sale;
-import feign.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Integer> {
+    String STREAM_FETCH_SIZE = "500";
+
+    @EntityGraph(Sale.WITH_DETAILS)
     List<Sale> findByDeletedFalse();
 
+    @Query("SELECT s.id FROM Sale s WHERE s.deleted = false AND s.id > :after ORDER BY s.id")
+    List<Integer> findIdsByDeletedFalseAfter(@Param("after") Integer after, Limit limit);
+
+    @EntityGraph(Sale.WITH_DETAILS)
+    List<Sale> findByIdInOrderByIdAsc(Collection<Integer> ids);
+
+    @EntityGraph(Sale.WITH_DETAILS)
+    Optional<Sale> findWithDetailsById(Integer id);
+
+    @EntityGraph(Sale.WITH_DETAILS)
     List<Sale> findByClientIdAndDeletedFalse(Integer clientId);
+    @EntityGraph(Sale.WITH_DETAILS)
     List<Sale> findByUserIdAndDeletedFalse(Integer userId);
 
-    @Query("SELECT s FROM Sale s WHERE MONTH(s.saleDate) = :month AND s.deleted = false")
-    List<Sale> findBySaleDateMonthAndDeletedFalse(@Param("month") int month);
-
-    @Query("SELECT s FROM Sale s WHERE YEAR(s.saleDate) = :year AND s.deleted = false")
-    List<Sale> findBySaleDateYearAndDeletedFalse(@Param("year") int year);
+    //Half-open range [start, end) on saleDate, so the (deleted, saleDate) index can be used
+    @EntityGraph(Sale.WITH_DETAILS)
+    @Query("SELECT s FROM Sale s WHERE s.deleted = false AND s.saleDate >= :start AND s.saleDate < :end")
+    List<Sale> findBySaleDateRangeAndDeletedFalse(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    @EntityGraph(Sale.WITH_DETAILS)
     List<Sale> findBySaleDateBetweenAndDeletedFalse(LocalDateTime startDate, LocalDateTime endDate);
 
-}
\ No newline at end of file
+    @EntityGraph(Sale.WITH_DETAILS)
+    @Query("SELECT s FROM Sale s WHERE s.deleted = false AND s.id IN " +
+            "(SELECT ps.id FROM Sale ps JOIN ps.saleDetails d WHERE d.product.id = :productId)")
+    List<Sale> findByProductIdAndDeletedFalse(@Param("productId") Integer productId);
+
+    //Streams for the exports. The rows are ordered by id so the sale details of each sale come together
+    @EntityGraph(Sale.WITH_DETAILS)
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Sale> streamByClientIdAndDeletedFalseOrderByIdAsc(Integer clientId);
+
+    @EntityGraph(Sale.WITH_DETAILS)
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Sale> streamByUserIdAndDeletedFalseOrderByIdAsc(Integer userId);
+
+    @EntityGraph(Sale.WITH_DETAILS)
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Sale s WHERE s.deleted = false AND s.saleDate >= :start AND s.saleDate < :end ORDER BY s.id")
+    Stream<Sale> streamBySaleDateRangeAndDeletedFalse(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @EntityGraph(Sale.WITH_DETAILS)
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Sale> streamBySaleDateBetweenAndDeletedFalseOrderByIdAsc(LocalDateTime startDate, LocalDateTime endDate);
+
+    //Change feed: rows changed after the watermark and before until, in (updatedAt, id) order over the (updatedAt, id) index
+    @Query("SELECT s.id FROM Sale s WHERE (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) " +
+            "AND s.updatedAt < :until ORDER BY s.updatedAt, s.id")
+    List<Integer> findIdsChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId, @Param("until") LocalDateTime until, Limit limit);
+}
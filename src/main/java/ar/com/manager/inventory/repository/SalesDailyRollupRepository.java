@@ -0,0 +1,30 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.entity.SalesDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, Integer>, SalesDailyRollupRepositoryCustom {
+
+    interface Totals {
+        LocalDate getSaleDay();
+        Long getSalesCount();
+        Long getUnits();
+        Double getRevenue();
+    }
+
+    @Query("SELECT SUM(r.salesCount) AS salesCount, SUM(r.units) AS units, SUM(r.revenue) AS revenue " +
+            "FROM SalesDailyRollup r WHERE r.productId = :productId AND r.saleDay >= :start AND r.saleDay <= :end")
+    Totals sumBetween(@Param("productId") Integer productId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT r.saleDay AS saleDay, SUM(r.salesCount) AS salesCount, SUM(r.units) AS units, SUM(r.revenue) AS revenue " +
+            "FROM SalesDailyRollup r WHERE r.productId = :productId AND r.saleDay >= :start AND r.saleDay <= :end " +
+            "GROUP BY r.saleDay ORDER BY r.saleDay")
+    List<Totals> sumByDayBetween(@Param("productId") Integer productId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+}
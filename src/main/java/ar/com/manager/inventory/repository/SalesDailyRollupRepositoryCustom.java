@@ -0,0 +1,20 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.entity.SalesDailyRollup;
+
+import java.util.List;
+
+public interface SalesDailyRollupRepositoryCustom {
+
+    /**
+     * Method to add the counts, units and revenue of the given rows to the stored ones, creating the missing rows.
+     * Negative values are used to take a deleted sale out of the totals.
+     */
+    void addAll(List<SalesDailyRollup> deltas);
+
+    /**
+     * Method to recompute the rows of every day from the sales that are not deleted, with the same values addAll
+     * accumulates. Existing rows are overwritten, rows of days without sales left are not removed.
+     */
+    void rebuild();
+}
@@ -0,0 +1,73 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.entity.SalesDailyRollup;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+public class SalesDailyRollupRepositoryCustomImpl implements SalesDailyRollupRepositoryCustom {
+
+    private static final String UPSERT =
+            "INSERT INTO sales_daily_rollup (sale_day, user_id, client_id, product_id, sales_count, units, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE sales_count = sales_count + VALUES(sales_count), units = units + VALUES(units), revenue = revenue + VALUES(revenue)";
+
+    private static final String REBUILD_SALES =
+            "INSERT INTO sales_daily_rollup (sale_day, user_id, client_id, product_id, sales_count, units, revenue) " +
+            "SELECT CAST(s.sale_date AS DATE), s.user_id, COALESCE(s.client_id, 0), 0, COUNT(*), SUM(u.units), SUM(s.total_price) " +
+            "FROM sales s JOIN (SELECT sale_id, SUM(amount) AS units FROM sale_details GROUP BY sale_id) u ON u.sale_id = s.id " +
+            "WHERE s.deleted = false " +
+            "GROUP BY CAST(s.sale_date AS DATE), s.user_id, COALESCE(s.client_id, 0) " +
+            "ON DUPLICATE KEY UPDATE sales_count = VALUES(sales_count), units = VALUES(units), revenue = VALUES(revenue)";
+    private static final String REBUILD_PRODUCTS =
+            "INSERT INTO sales_daily_rollup (sale_day, user_id, client_id, product_id, sales_count, units, revenue) " +
+            "SELECT CAST(s.sale_date AS DATE), s.user_id, COALESCE(s.client_id, 0), d.product_id, COUNT(DISTINCT s.id), " +
+            "SUM(d.amount), SUM(d.amount * COALESCE(d.unit_price, p.price)) " +
+            "FROM sales s JOIN sale_details d ON d.sale_id = s.id JOIN products p ON p.id = d.product_id " +
+            "WHERE s.deleted = false " +
+            "GROUP BY CAST(s.sale_date AS DATE), s.user_id, COALESCE(s.client_id, 0), d.product_id " +
+            "ON DUPLICATE KEY UPDATE sales_count = VALUES(sales_count), units = VALUES(units), revenue = VALUES(revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesDailyRollupRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addAll(List<SalesDailyRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SalesDailyRollup delta = deltas.get(i);
+                ps.setDate(1, Date.valueOf(delta.getSaleDay()));
+                ps.setInt(2, delta.getUserId());
+                ps.setInt(3, delta.getClientId());
+                ps.setInt(4, delta.getProductId());
+                ps.setLong(5, delta.getSalesCount());
+                ps.setLong(6, delta.getUnits());
+                ps.setDouble(7, delta.getRevenue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update(REBUILD_SALES);
+        jdbcTemplate.update(REBUILD_PRODUCTS);
+    }
+}
@@ -1,16 +1,22 @@
 package ar.com.manager.inventory.repository;
 
 import ar.com.manager.inventory.entity.Supplier;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Integer> {
-    boolean existsByPhoneNumber(String phoneNumber);
-    boolean existsByEmail(String email);
     List<Supplier> findByDeletedFalse();
-    boolean existsByEmailAndIdNot(String email, Integer id);
-    boolean existsByPhoneNumberAndIdNot(String phoneNumber, Integer id);
+    List<Supplier> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    //Change feed: rows changed after the watermark and before until, in (updatedAt, id) order over the (updatedAt, id) index
+    @Query("SELECT s FROM Supplier s WHERE (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) " +
+            "AND s.updatedAt < :until ORDER BY s.updatedAt, s.id")
+    List<Supplier> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId, @Param("until") LocalDateTime until, Limit limit);
 }
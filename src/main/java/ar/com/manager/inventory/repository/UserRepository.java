@@ -1,18 +1,22 @@
 package ar.com.manager.inventory.repository;
 
 import ar.com.manager.inventory.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
-    boolean existsByUserName(String username);
-    boolean existsByEmail(String email);
-    boolean existsByPhoneNumber(String phoneNumber);
-    boolean existsByUserNameAndIdNot(String userName, Integer id);
-    boolean existsByEmailAndIdNot(String userName, Integer id);
-    boolean existsByPhoneNumberAndIdNot(String userName, Integer id);
     List<User> findByDeletedFalse();
+    List<User> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    //Change feed: rows changed after the watermark and before until, in (updatedAt, id) order over the (updatedAt, id) index
+    @Query("SELECT u FROM User u WHERE (u.updatedAt > :since OR (u.updatedAt = :since AND u.id > :afterId)) " +
+            "AND u.updatedAt < :until ORDER BY u.updatedAt, u.id")
+    List<User> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId, @Param("until") LocalDateTime until, Limit limit);
 }
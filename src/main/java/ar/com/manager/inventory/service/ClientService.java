@@ -1,5 +1,6 @@
 package ar.com.manager.inventory.service;
 
+import ar.com.manager.inventory.changes.ChangePage;
 import ar.com.manager.inventory.dto.ClientDto;
 
 import java.util.List;
@@ -9,6 +10,7 @@ public interface ClientService {
     ClientDto updateClient(ClientDto clientDto, Integer id);
     void deleteClient(Integer id);
     ClientDto getClientById(Integer id);
-    List<ClientDto> getAllClients();
+    List<ClientDto> getAllClients(Integer after, int limit);
+    ChangePage<ClientDto> getClientChanges(String since, int limit);
 
 }
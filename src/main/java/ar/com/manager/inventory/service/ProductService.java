@@ -1,6 +1,10 @@
 package ar.com.manager.inventory.service;
 
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.dto.LowStockAlertDto;
 import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.ProductFacetDto;
+import ar.com.manager.inventory.dto.ProductSearchResultDto;
 
 import java.util.List;
 
@@ -9,6 +13,13 @@ public interface ProductService {
     ProductDto updateProduct(ProductDto productDto, Integer id);
     void deleteProduct(Integer id);
     ProductDto getProductById(Integer id);
-    List<ProductDto> getAllProducts();
+    ProductDto getProductByBarCode(String barCode);
+    List<ProductDto> getAllProducts(Integer after, int limit);
+    ChangePage<ProductDto> getProductChanges(String since, int limit);
+    ProductSearchResultDto searchProducts(String query, int page, int limit);
+    List<ProductDto> getProductsByCategory(String category, Integer after, int limit);
+    List<ProductFacetDto> getCategoryFacets();
+    List<ProductFacetDto> getSupplierFacets();
+    List<LowStockAlertDto> getLowStockAlerts();
 
 }
@@ -0,0 +1,14 @@
+package ar.com.manager.inventory.service;
+
+import ar.com.manager.inventory.dto.SaleDto;
+
+import java.util.function.Consumer;
+
+/**
+ * Sales export whose arguments were already checked. The sales are read, in a read-only transaction,
+ * and handed to the consumer one by one only when it is written.
+ */
+@FunctionalInterface
+public interface SaleExport {
+    void writeTo(Consumer<SaleDto> consumer);
+}
@@ -1,20 +1,36 @@
 package ar.com.manager.inventory.service;
 
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.dto.SaleBatchResultDto;
 import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.dto.SalesSummaryDto;
 
 import java.util.List;
 
 public interface SaleService {
     SaleDto addSale(SaleDto saleDto);
+    List<SaleBatchResultDto> addSales(List<SaleDto> saleDtos);
     void deleteSale(Integer id);
     SaleDto getSaleById(Integer id);
-    List<SaleDto> getAllSales();
+    List<SaleDto> getAllSales(Integer after, int limit);
+    ChangePage<SaleDto> getSaleChanges(String since, int limit);
 
     //Filters
     List<SaleDto> findBySaleDateBetween(String startDate, String endDate);
     List<SaleDto> findByClientId(Integer clientId);
     List<SaleDto> findByUserId(Integer userId);
-    List<SaleDto> findBySaleDateMonth(int monthNumber);
+    List<SaleDto> findBySaleDateMonth(int yearNumber, int monthNumber);
     List<SaleDto> findBySaleDateYear(int yearNumber);
     List<SaleDto> findByProductId(Integer productId);
+
+    //Summaries, served from the daily rollup
+    SalesSummaryDto getSalesSummary(String startDate, String endDate, Integer productId);
+    List<SalesSummaryDto> getDailySalesSummary(String startDate, String endDate, Integer productId);
+
+    //Exports, the arguments are checked when the export is created and each sale is handed over as soon as it is read
+    SaleExport exportBySaleDateBetween(String startDate, String endDate);
+    SaleExport exportByClientId(Integer clientId);
+    SaleExport exportByUserId(Integer userId);
+    SaleExport exportBySaleDateMonth(int yearNumber, int monthNumber);
+    SaleExport exportBySaleDateYear(int yearNumber);
 }
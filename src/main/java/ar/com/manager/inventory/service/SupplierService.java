@@ -1,5 +1,6 @@
 package ar.com.manager.inventory.service;
 
+import ar.com.manager.inventory.changes.ChangePage;
 import ar.com.manager.inventory.dto.SupplierDto;
 
 import java.util.List;
@@ -9,5 +10,6 @@ public interface SupplierService {
     SupplierDto updateSupplier(SupplierDto supplierDto, Integer id);
     void deleteSupplier(Integer id);
     SupplierDto getSupplierById(Integer id);
-    List<SupplierDto> getAllSuppliers();
+    List<SupplierDto> getAllSuppliers(Integer after, int limit);
+    ChangePage<SupplierDto> getSupplierChanges(String since, int limit);
 }
@@ -1,5 +1,6 @@
 package ar.com.manager.inventory.service;
 
+import ar.com.manager.inventory.changes.ChangePage;
 import ar.com.manager.inventory.dto.UserDto;
 
 import java.util.List;
@@ -9,5 +10,6 @@ public interface UserService {
     UserDto updateUser(UserDto userDto, Integer id);
     void deleteUser(Integer id);
     UserDto getUserById(Integer id);
-    List<UserDto> getAllUsers();
+    List<UserDto> getAllUsers(Integer after, int limit);
+    ChangePage<UserDto> getUserChanges(String since, int limit);
 }
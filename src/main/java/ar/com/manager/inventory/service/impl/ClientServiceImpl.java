@@ -1,18 +1,25 @@
 package ar.com.manager.inventory.service.impl;
 
+import ar.com.manager.inventory.changes.ChangeFeed;
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.changes.Watermark;
 import ar.com.manager.inventory.dto.ClientDto;
 import ar.com.manager.inventory.entity.Client;
 import ar.com.manager.inventory.entity.Sale;
 import ar.com.manager.inventory.exception.NotFoundException;
+import ar.com.manager.inventory.exception.UniqueConstraints;
 import ar.com.manager.inventory.exception.ValidationException;
 import ar.com.manager.inventory.mapper.ClientMapper;
 import ar.com.manager.inventory.repository.ClientRepository;
 import ar.com.manager.inventory.service.ClientService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,22 +28,26 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
+    private final ChangeFeed changeFeed;
 
-    public ClientServiceImpl(ClientRepository clientRepository, ClientMapper clientMapper) {
+    public ClientServiceImpl(ClientRepository clientRepository, ClientMapper clientMapper, ChangeFeed changeFeed) {
         this.clientRepository = clientRepository;
         this.clientMapper = clientMapper;
+        this.changeFeed = changeFeed;
     }
 
     @Override
     public ClientDto addClient(ClientDto clientDto) throws ValidationException {
-        if(clientRepository.existsByDni(clientDto.getDni())){
-            throw new ValidationException("The client already exists");
-        }
         Client client = clientMapper.toEntity(clientDto);
         client.setDeleted(false);
         List<Sale> sales = new ArrayList<>();
         client.setSales(sales);
-        Client savedClient = clientRepository.save(client);
+        Client savedClient;
+        try {
+            savedClient = clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, Map.of(Client.UK_DNI, "The client already exists"));
+        }
         return clientMapper.toDto(savedClient);
     }
 
@@ -49,11 +60,12 @@ public class ClientServiceImpl implements ClientService {
             String errorMessage = "The client with id " + id + " does not exist.";
             return new NotFoundException(errorMessage);
         });
-        if (clientRepository.existsByDniAndIdNot(clientDto.getDni(), id)) {
-            throw new ValidationException("The client DNI already exists");
-        }
         setClient(clientDto, client);
-        client = clientRepository.save(client);
+        try {
+            client = clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, Map.of(Client.UK_DNI, "The client DNI already exists"));
+        }
         return clientMapper.toDto(client);
     }
 
@@ -77,13 +89,20 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public List<ClientDto> getAllClients() {
-        return clientRepository.findByDeletedFalse()
+    public List<ClientDto> getAllClients(Integer after, int limit) {
+        return clientRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(after == null ? 0 : after, Limit.of(limit))
                 .stream()
                 .map(clientMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ChangePage<ClientDto> getClientChanges(String since, int limit) {
+        Watermark watermark = Watermark.parse(since);
+        List<Client> clients = clientRepository.findChangedSince(watermark.getUpdatedAt(), watermark.getId(), changeFeed.until(), Limit.of(limit));
+        return ChangePage.of(clients, limit, watermark, Client::getUpdatedAt, Client::getId, clientMapper::toDtoWithoutSales);
+    }
+
     private void setClient (ClientDto modifiedClient, Client finalClient) {
         finalClient.setFirstName(modifiedClient.getFirstName());
         finalClient.setLastName(modifiedClient.getLastName());
@@ -1,41 +1,87 @@
 package ar.com.manager.inventory.service.impl;
 
+import ar.com.manager.inventory.changes.ChangeFeed;
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.changes.Watermark;
+import ar.com.manager.inventory.config.CacheConfig;
+import ar.com.manager.inventory.dto.LowStockAlertDto;
 import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.ProductFacetDto;
+import ar.com.manager.inventory.dto.ProductSearchResultDto;
+import ar.com.manager.inventory.entity.OutboxEvent;
 import ar.com.manager.inventory.entity.Product;
 import ar.com.manager.inventory.exception.NotFoundException;
+import ar.com.manager.inventory.exception.UniqueConstraints;
 import ar.com.manager.inventory.exception.ValidationException;
+import ar.com.manager.inventory.index.ProductBarCodeIndex;
+import ar.com.manager.inventory.index.ProductFacetIndex;
+import ar.com.manager.inventory.index.ProductSearchIndex;
 import ar.com.manager.inventory.mapper.ProductMapper;
+import ar.com.manager.inventory.outbox.OutboxWriter;
 import ar.com.manager.inventory.repository.ProductRepository;
 import ar.com.manager.inventory.repository.SupplierRepository;
 import ar.com.manager.inventory.repository.UserRepository;
 import ar.com.manager.inventory.service.ProductService;
+import ar.com.manager.inventory.stock.LowStockMonitor;
+import ar.com.manager.inventory.stock.StockReservationLedger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    private static final Map<String, String> ADD_UNIQUE_MESSAGES = Map.of(
+            Product.UK_BAR_CODE, "The product barcode already exists.",
+            Product.UK_NUMBER, "The product number already exists.");
+    private static final Map<String, String> UPDATE_UNIQUE_MESSAGES = Map.of(
+            Product.UK_BAR_CODE, "The product barcode already exists",
+            Product.UK_NUMBER, "The product number already exists");
+
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final SupplierRepository supplierRepository;
     private final ProductMapper productMapper;
-    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper, UserRepository userRepository, SupplierRepository supplierRepository) {
+    private final ProductBarCodeIndex productBarCodeIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final LowStockMonitor lowStockMonitor;
+    private final StockReservationLedger stockLedger;
+    private final OutboxWriter outboxWriter;
+    private final ChangeFeed changeFeed;
+    private final Cache productCache;
+    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper, UserRepository userRepository, SupplierRepository supplierRepository, ProductBarCodeIndex productBarCodeIndex, ProductSearchIndex productSearchIndex, ProductFacetIndex productFacetIndex, LowStockMonitor lowStockMonitor, ObjectProvider<StockReservationLedger> stockLedger, ObjectProvider<OutboxWriter> outboxWriter, ChangeFeed changeFeed, CacheManager cacheManager) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
         this.userRepository = userRepository;
         this.supplierRepository = supplierRepository;
+        this.productBarCodeIndex = productBarCodeIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.lowStockMonitor = lowStockMonitor;
+        this.stockLedger = stockLedger.getIfAvailable();
+        this.outboxWriter = outboxWriter.getIfAvailable();
+        this.changeFeed = changeFeed;
+        this.productCache = cacheManager.getCache(CacheConfig.PRODUCTS);
     }
 
     @Override
+    @Transactional
     public ProductDto addProduct(ProductDto productDto) throws ValidationException {
-        if (productRepository.existsByBarCode(productDto.getBarCode())) {
-            throw new ValidationException("The product barcode already exists.");
-        }
-        if (productRepository.existsByNumber(productDto.getNumber())) {
-            throw new ValidationException("The product number already exists.");
-        }
         if (productDto.getUserId() == null) {
             throw new ValidationException("The user id is required.");
         }
@@ -44,11 +90,27 @@ public class ProductServiceImpl implements ProductService {
         }
         Product product = productMapper.toEntity(productDto);
         product.setDeleted(false);
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct;
+        try {
+            savedProduct = productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, ADD_UNIQUE_MESSAGES);
+        }
+        if (outboxWriter != null) {
+            outboxWriter.productChanged(savedProduct, OutboxEvent.PRODUCT_CREATED);
+        }
+        afterCommit(() -> {
+            productBarCodeIndex.put(savedProduct.getBarCode(), savedProduct.getId());
+            productSearchIndex.put(savedProduct);
+            productFacetIndex.put(savedProduct);
+            lowStockMonitor.stockChanged(savedProduct, savedProduct.getStock());
+        });
         return productMapper.toDto(savedProduct);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductDto updateProduct(ProductDto productDto, Integer id) throws NotFoundException, ValidationException {
         if(productDto == null){
             throw new ValidationException("The product cannot be null");
@@ -57,18 +119,40 @@ public class ProductServiceImpl implements ProductService {
             String errorMessage = "The product with id " + id + " does not exist.";
             return new NotFoundException(errorMessage);
         });
-        if (productRepository.existsByNumberAndIdNot(productDto.getNumber(), id)) {
-            throw new ValidationException("The product number already exists");
+        String previousBarCode = product.getBarCode();
+        setProduct(productDto, product);
+        try {
+            product = productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, UPDATE_UNIQUE_MESSAGES);
         }
-        if (productRepository.existsByBarCodeAndIdNot(productDto.getBarCode(), id)) {
-            throw new ValidationException("The product barcode already exists");
+        if (outboxWriter != null) {
+            outboxWriter.productChanged(product, product.getDeleted() ? OutboxEvent.PRODUCT_DELETED : OutboxEvent.PRODUCT_UPDATED);
         }
-        setProduct(productDto, product);
-        product = productRepository.save(product);
-        return productMapper.toDto(product);
+        Product savedProduct = product;
+        afterCommit(() -> {
+            productBarCodeIndex.remove(previousBarCode, id);
+            if (savedProduct.getDeleted()) {
+                productSearchIndex.remove(id);
+                productFacetIndex.remove(id);
+                lowStockMonitor.remove(id);
+            } else {
+                productBarCodeIndex.put(savedProduct.getBarCode(), id);
+                productSearchIndex.put(savedProduct);
+                productFacetIndex.put(savedProduct);
+                lowStockMonitor.stockChanged(savedProduct, savedProduct.getStock());
+            }
+            if (stockLedger != null) {
+                //A restock or manual edit replaces the stock the ledger admits sales against
+                stockLedger.reconcile(id);
+            }
+        });
+        return productMapper.toDto(savedProduct);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public void deleteProduct(Integer id) {
         Product product = productRepository.findById(id).orElse(null);
         if (product == null) {
@@ -76,9 +160,19 @@ public class ProductServiceImpl implements ProductService {
         }
         product.setDeleted(true);
         productRepository.save(product);
+        if (outboxWriter != null) {
+            outboxWriter.productChanged(product, OutboxEvent.PRODUCT_DELETED);
+        }
+        afterCommit(() -> {
+            productBarCodeIndex.remove(product.getBarCode(), id);
+            productSearchIndex.remove(id);
+            productFacetIndex.remove(id);
+            lowStockMonitor.remove(id);
+        });
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductDto getProductById(Integer id) {
         Product product = productRepository.findById(id).orElse(null);
         if (product == null || product.getDeleted()) {
@@ -88,13 +182,85 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public List<ProductDto> getAllProducts() {
-        return productRepository.findByDeletedFalse()
+    public ProductDto getProductByBarCode(String barCode) {
+        Integer id = productBarCodeIndex.find(barCode);
+        if (id != null) {
+            ProductDto productDto = productCache.get(id, ProductDto.class);
+            if (productDto == null) {
+                Product product = productRepository.findById(id).orElse(null);
+                if (product != null && !product.getDeleted()) {
+                    productDto = productMapper.toDto(product);
+                    productCache.put(id, productDto);
+                }
+            }
+            if (productDto != null && barCode.equals(productDto.getBarCode())) {
+                return productDto;
+            }
+            //Stale entry, for example the barcode was changed or the product deleted by another instance
+            productBarCodeIndex.remove(barCode, id);
+        }
+        //Not indexed yet, for example a product created by another instance
+        Product product = productRepository.findByBarCodeAndDeletedFalse(barCode);
+        if (product == null) {
+            throw new NotFoundException("The product with barcode " + barCode + " does not exist.");
+        }
+        productBarCodeIndex.put(barCode, product.getId());
+        return productMapper.toDto(product);
+    }
+
+    @Override
+    public List<ProductDto> getAllProducts(Integer after, int limit) {
+        return productRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(after == null ? 0 : after, Limit.of(limit))
                 .stream()
                 .map(productMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ChangePage<ProductDto> getProductChanges(String since, int limit) {
+        Watermark watermark = Watermark.parse(since);
+        List<Product> products = productRepository.findChangedSince(watermark.getUpdatedAt(), watermark.getId(), changeFeed.until(), Limit.of(limit));
+        return ChangePage.of(products, limit, watermark, Product::getUpdatedAt, Product::getId, productMapper::toDto);
+    }
+
+    @Override
+    public ProductSearchResultDto searchProducts(String query, int page, int limit) {
+        ProductSearchIndex.Page hits = productSearchIndex.search(query, page * limit, limit);
+        Map<Integer, ProductDto> products = productRepository.findByIdInAndDeletedFalse(hits.getProductIds())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, productMapper::toDto));
+        List<ProductDto> rankedProducts = hits.getProductIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new ProductSearchResultDto(hits.getTotal(), page, rankedProducts);
+    }
+
+    @Override
+    public List<ProductDto> getProductsByCategory(String category, Integer after, int limit) {
+        List<Integer> ids = productFacetIndex.findByCategory(category, after, limit);
+        return productRepository.findByIdInAndDeletedFalse(ids)
+                .stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .map(productMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductFacetDto> getCategoryFacets() {
+        return productFacetIndex.categoryFacets();
+    }
+
+    @Override
+    public List<ProductFacetDto> getSupplierFacets() {
+        return productFacetIndex.supplierFacets();
+    }
+
+    @Override
+    public List<LowStockAlertDto> getLowStockAlerts() {
+        return lowStockMonitor.getAlerts();
+    }
+
     private void setProduct (ProductDto modifiedProduct, Product finalProduct) {
         finalProduct.setName(modifiedProduct.getName());
         finalProduct.setStock(modifiedProduct.getStock());
@@ -103,9 +269,26 @@ public class ProductServiceImpl implements ProductService {
         finalProduct.setDescription(modifiedProduct.getDescription());
         finalProduct.setCategory(modifiedProduct.getCategory());
         finalProduct.setImage(modifiedProduct.getImage());
+        finalProduct.setReorderThreshold(modifiedProduct.getReorderThreshold());
         finalProduct.setSupplier(
                 supplierRepository.findById(modifiedProduct.getSupplierId())
                         .orElseThrow(() -> new NotFoundException("Supplier not found with ID: " + modifiedProduct.getSupplierId()))
         );
     }
+
+    /**
+     * Method to update the in-memory indexes once the transaction commits, so a rollback leaves them as they were
+     */
+    private void afterCommit(Runnable action){
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -1,103 +1,328 @@
 package ar.com.manager.inventory.service.impl;
 
+import ar.com.manager.inventory.changes.ChangeFeed;
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.changes.Watermark;
+import ar.com.manager.inventory.config.CacheConfig;
+import ar.com.manager.inventory.dto.SaleBatchResultDto;
 import ar.com.manager.inventory.dto.SaleDetailDto;
 import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.dto.SalesSummaryDto;
+import ar.com.manager.inventory.entity.Client;
 import ar.com.manager.inventory.entity.Product;
 import ar.com.manager.inventory.entity.Sale;
 import ar.com.manager.inventory.entity.SaleDetail;
+import ar.com.manager.inventory.entity.SalesDailyRollup;
+import ar.com.manager.inventory.entity.User;
 import ar.com.manager.inventory.exception.NotFoundException;
 import ar.com.manager.inventory.exception.ValidationException;
+import ar.com.manager.inventory.index.ProductFacetIndex;
 import ar.com.manager.inventory.mapper.SaleDetailMapper;
 import ar.com.manager.inventory.mapper.SaleMapper;
+import ar.com.manager.inventory.outbox.OutboxWriter;
+import ar.com.manager.inventory.repository.ClientRepository;
 import ar.com.manager.inventory.repository.ProductRepository;
+import ar.com.manager.inventory.repository.SaleBatchRepository;
 import ar.com.manager.inventory.repository.SaleDetailRepository;
 import ar.com.manager.inventory.repository.SaleRepository;
+import ar.com.manager.inventory.repository.SalesDailyRollupRepository;
+import ar.com.manager.inventory.repository.UserRepository;
+import ar.com.manager.inventory.service.SaleExport;
 import ar.com.manager.inventory.service.SaleService;
+import ar.com.manager.inventory.stock.LowStockMonitor;
+import ar.com.manager.inventory.stock.StockReservationLedger;
 import ar.com.manager.inventory.util.Util;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("inventory.sale.service")
 public class SaleServiceImpl implements SaleService {
+    private static final Logger log = LoggerFactory.getLogger(SaleServiceImpl.class);
+
     private final SaleDetailMapper saleDetailMapper;
     private final SaleRepository saleRepository;
     private final ProductRepository productRepository;
     private final SaleDetailRepository saleDetailRepository;
     private final SaleMapper saleMapper;
+    private final UserRepository userRepository;
+    private final ClientRepository clientRepository;
+    private final SaleBatchRepository saleBatchRepository;
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+    private final StockReservationLedger stockLedger;
+    private final ProductFacetIndex productFacetIndex;
+    private final LowStockMonitor lowStockMonitor;
+    private final OutboxWriter outboxWriter;
+    private final ChangeFeed changeFeed;
+    private final Cache productCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final DistributionSummary saleLines;
+    private final Counter stockAccepted;
+    private final Counter stockRejected;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public SaleServiceImpl(SaleDetailMapper saleDetailMapper, SaleRepository saleRepository, ProductRepository productRepository,SaleDetailRepository saleDetailRepository , SaleMapper saleMapper) {
+    public SaleServiceImpl(SaleDetailMapper saleDetailMapper, SaleRepository saleRepository, ProductRepository productRepository,SaleDetailRepository saleDetailRepository , SaleMapper saleMapper, UserRepository userRepository, ClientRepository clientRepository, SaleBatchRepository saleBatchRepository, SalesDailyRollupRepository salesDailyRollupRepository, ObjectProvider<StockReservationLedger> stockLedger, ProductFacetIndex productFacetIndex, LowStockMonitor lowStockMonitor, ObjectProvider<OutboxWriter> outboxWriter, ChangeFeed changeFeed, CacheManager cacheManager, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
         this.saleDetailMapper = saleDetailMapper;
         this.saleRepository = saleRepository;
         this.productRepository = productRepository;
         this.saleDetailRepository = saleDetailRepository;
         this.saleMapper = saleMapper;
+        this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.saleBatchRepository = saleBatchRepository;
+        this.salesDailyRollupRepository = salesDailyRollupRepository;
+        this.stockLedger = stockLedger.getIfAvailable();
+        this.productFacetIndex = productFacetIndex;
+        this.lowStockMonitor = lowStockMonitor;
+        this.outboxWriter = outboxWriter.getIfAvailable();
+        this.changeFeed = changeFeed;
+        this.productCache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.saleLines = DistributionSummary.builder("inventory.sale.lines")
+                .description("Detail lines per sale")
+                .register(meterRegistry);
+        this.stockAccepted = meterRegistry.counter("inventory.sale.stock.checks", "outcome", "accepted");
+        this.stockRejected = meterRegistry.counter("inventory.sale.stock.checks", "outcome", "rejected");
     }
 
     @Override
+    @Transactional
     public SaleDto addSale(SaleDto saleDto) throws ValidationException {
-        if (saleDto == null || saleDto.getSaleDetail() == null || saleDto.getSaleDetail().isEmpty()) {
-            throw new ValidationException("The sale or its details cannot be null or empty");
-        }
-        if(saleDto.getUserId() == null){
-            throw new ValidationException("The user id is required.");
-        }
-        saleDto.getSaleDetail().forEach(saleDetailDto -> {
-            if (saleDetailDto.getAmount() <= 0) {
-                throw new ValidationException("The amount in sale details must be greater than 0");
-            }
-            Product product = productRepository.findByIdAndDeletedFalse(saleDetailDto.getProduct().getId());
+        Map<Integer, Integer> quantities = collectQuantities(saleDto);
+        Map<Integer, Product> products = productRepository.findByIdInAndDeletedFalse(quantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        quantities.forEach((productId, amount) -> {
+            Product product = products.get(productId);
             if(product == null){
-                throw new NotFoundException("The product with id " + saleDetailDto.getProduct().getId() + " does not exist.");
+                throw new NotFoundException("The product with id " + productId + " does not exist.");
             }
-            if (product.getStock() < saleDetailDto.getAmount()) {
-                throw new ValidationException("The product in sale details does not have enough stock");
+            if (stockLedger == null && product.getStock() < amount) {
+                throw insufficientStock();
             }
         });
+        if (stockLedger != null) {
+            reserveStock(quantities, products);
+        }
         Sale sale = saleMapper.toEntity(saleDto);
         sale.setDeleted(false);
 
-        List<SaleDetail> saleDetails = new ArrayList<>();
-        for (SaleDetailDto saleDetailDto : saleDto.getSaleDetail()) {
-            SaleDetail saleDetail = saleDetailMapper.toEntity(saleDetailDto);
-            saleDetail.setDeleted(false);
-            saleDetails.add(saleDetail);
-        }
+        List<SaleDetail> saleDetails = toSaleDetails(saleDto, products);
         sale.setSaleDetails(saleDetails);
         LocalDateTime now = LocalDateTime.now();
         sale.setTotalPrice(calculateTotal(saleDetails));
         sale.setSaleDate(now);
 
-        sale = saleRepository.save(sale);
-        saleDetails.forEach(this::updateProductStock);
-        return saleMapper.toDto(sale);
+        saleBatchRepository.insertAll(List.of(sale));
+        updateProductStock(quantities, products);
+        stockAccepted.increment();
+        saleLines.record(saleDetails.size());
+        salesDailyRollupRepository.addAll(toRollup(sale, 1));
+        if (outboxWriter != null) {
+            outboxWriter.salesCreated(List.of(sale), stockAfterSale(List.of(sale)));
+        }
+        SaleDto savedSale = saleMapper.toDto(sale);
+        if (stockLedger != null) {
+            savedSale.getSaleDetail().forEach(saleDetailDto ->
+                    saleDetailDto.getProduct().setStock(stockLedger.available(saleDetailDto.getProduct().getId())));
+        }
+        return savedSale;
+    }
+
+    @Override
+    @Transactional
+    public List<SaleBatchResultDto> addSales(List<SaleDto> saleDtos) throws ValidationException {
+        if (saleDtos == null || saleDtos.isEmpty()) {
+            throw new ValidationException("The sales batch cannot be null or empty");
+        }
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> clientIds = new HashSet<>();
+        Set<Integer> productIds = new HashSet<>();
+        for (SaleDto saleDto : saleDtos) {
+            if (saleDto == null) {
+                continue;
+            }
+            if (saleDto.getUserId() != null) {
+                userIds.add(saleDto.getUserId());
+            }
+            if (saleDto.getClientId() != null) {
+                clientIds.add(saleDto.getClientId());
+            }
+            if (saleDto.getSaleDetail() != null) {
+                saleDto.getSaleDetail().stream()
+                        .filter(saleDetailDto -> saleDetailDto.getProduct() != null && saleDetailDto.getProduct().getId() != null)
+                        .forEach(saleDetailDto -> productIds.add(saleDetailDto.getProduct().getId()));
+            }
+        }
+        Map<Integer, User> users = userRepository.findAllById(userIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, Client> clients = clientRepository.findAllById(clientIds)
+                .stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        Map<Integer, Product> products = productRepository.findByIdInAndDeletedFalse(productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Integer, Integer> remainingStock = new HashMap<>();
+        products.values().forEach(product -> remainingStock.put(product.getId(), product.getStock()));
+        Map<Integer, Integer> totalQuantities = new LinkedHashMap<>();
+        SaleBatchResultDto[] results = new SaleBatchResultDto[saleDtos.size()];
+        List<Sale> sales = new ArrayList<>();
+        List<Integer> saleIndexes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < saleDtos.size(); i++) {
+            SaleDto saleDto = saleDtos.get(i);
+            try {
+                Map<Integer, Integer> quantities = collectQuantities(saleDto);
+                User user = users.get(saleDto.getUserId());
+                if (user == null) {
+                    throw new NotFoundException("User not found");
+                }
+                quantities.keySet().forEach(productId -> {
+                    if (!products.containsKey(productId)) {
+                        throw new NotFoundException("The product with id " + productId + " does not exist.");
+                    }
+                });
+                LocalDateTime saleDate = saleDto.getSaleDate() != null ? Util.stringToLocalDateTime(saleDto.getSaleDate()) : now;
+                Sale sale = new Sale();
+                sale.setUser(user);
+                if (saleDto.getClientId() != null) {
+                    Client client = clients.get(saleDto.getClientId());
+                    if (client == null) {
+                        throw new NotFoundException("Client not found");
+                    }
+                    sale.setClient(client);
+                }
+                sale.setDeleted(false);
+                List<SaleDetail> saleDetails = toSaleDetails(saleDto, products);
+                sale.setSaleDetails(saleDetails);
+                sale.setTotalPrice(calculateTotal(saleDetails));
+                sale.setSaleDate(saleDate);
+                //The stock is taken last, once nothing else can reject the sale
+                if (stockLedger != null) {
+                    reserveStock(quantities, products);
+                } else {
+                    quantities.forEach((productId, amount) -> {
+                        if (remainingStock.get(productId) < amount) {
+                            throw insufficientStock();
+                        }
+                    });
+                    quantities.forEach((productId, amount) -> {
+                        remainingStock.merge(productId, -amount, Integer::sum);
+                        totalQuantities.merge(productId, amount, Integer::sum);
+                    });
+                }
+                sales.add(sale);
+                saleIndexes.add(i);
+                stockAccepted.increment();
+                saleLines.record(saleDetails.size());
+            } catch (ValidationException | NotFoundException | IllegalArgumentException e) {
+                results[i] = SaleBatchResultDto.rejected(i, e.getMessage());
+            }
+        }
+
+        saleBatchRepository.insertAll(sales);
+        updateProductStock(totalQuantities, products);
+        salesDailyRollupRepository.addAll(sales.stream()
+                .flatMap(sale -> toRollup(sale, 1).stream())
+                .toList());
+        if (outboxWriter != null && !sales.isEmpty()) {
+            outboxWriter.salesCreated(sales, stockAfterSale(sales));
+        }
+        for (int i = 0; i < sales.size(); i++) {
+            Sale sale = sales.get(i);
+            results[saleIndexes.get(i)] = SaleBatchResultDto.created(saleIndexes.get(i), sale.getId(), sale.getTotalPrice());
+        }
+        return Arrays.asList(results);
     }
 
     @Override
+    @Transactional
     public void deleteSale(Integer id) throws ValidationException {
         Sale sale = saleRepository.findById(id).orElse(null);
         if (sale == null) {
             throw new ValidationException("The sale with id " + id + " does not exist.");
         }
+        if (!sale.getDeleted()) {
+            salesDailyRollupRepository.addAll(toRollup(sale, -1));
+        }
         sale.setDeleted(true);
         saleRepository.save(sale);
+        if (outboxWriter != null) {
+            outboxWriter.saleDeleted(sale);
+        }
     }
 
     @Override
-    public List<SaleDto> getAllSales() {
-        return saleRepository.findByDeletedFalse()
+    public List<SaleDto> getAllSales(Integer after, int limit) {
+        List<Integer> ids = saleRepository.findIdsByDeletedFalseAfter(after == null ? 0 : after, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return saleRepository.findByIdInOrderByIdAsc(ids)
                 .stream()
                 .map(saleMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ChangePage<SaleDto> getSaleChanges(String since, int limit) {
+        Watermark watermark = Watermark.parse(since);
+        //Ids first, so the page limit is applied before fetching the details
+        List<Integer> ids = saleRepository.findIdsChangedSince(watermark.getUpdatedAt(), watermark.getId(), changeFeed.until(), Limit.of(limit));
+        List<Sale> sales = new ArrayList<>(ids.size());
+        if (!ids.isEmpty()) {
+            Map<Integer, Sale> salesById = saleRepository.findByIdInOrderByIdAsc(ids)
+                    .stream()
+                    .collect(Collectors.toMap(Sale::getId, Function.identity()));
+            ids.forEach(id -> sales.add(salesById.get(id)));
+        }
+        return ChangePage.of(sales, limit, watermark, Sale::getUpdatedAt, Sale::getId, saleMapper::toDto);
+    }
+
     //Filters
     @Override
     public SaleDto getSaleById(Integer id) throws NotFoundException {
-        Sale sale = saleRepository.findById(id).orElse(null);
+        Sale sale = saleRepository.findWithDetailsById(id).orElse(null);
         if (sale == null || sale.getDeleted()) {
             throw new NotFoundException("The sale with id " + id + " does not exist.");
         }
@@ -108,10 +333,7 @@ public class SaleServiceImpl implements SaleService {
     public List<SaleDto> findBySaleDateBetween(String startDate, String endDate) {
         LocalDateTime start = Util.stringToLocalDateTime(startDate);
         LocalDateTime end = Util.stringToLocalDateTime(endDate);
-
-        if (start.isAfter(end)) {
-            throw new IllegalArgumentException("The start date cannot be later than the end date.");
-        }
+        validateDateRange(start, end);
 
         return saleRepository.findBySaleDateBetweenAndDeletedFalse(start, end)
                 .stream()
@@ -137,11 +359,11 @@ public class SaleServiceImpl implements SaleService {
     }
 
     @Override
-    public List<SaleDto> findBySaleDateMonth(int monthNumber) {
-        if (monthNumber < 1 || monthNumber > 12) {
-            throw new IllegalArgumentException("Invalid month number. The month number must be between 1 and 12");
-        }
-        return saleRepository.findBySaleDateMonthAndDeletedFalse(monthNumber)
+    public List<SaleDto> findBySaleDateMonth(int year, int monthNumber) {
+        validateYear(year);
+        validateMonth(monthNumber);
+        LocalDateTime start = LocalDate.of(year, monthNumber, 1).atStartOfDay();
+        return saleRepository.findBySaleDateRangeAndDeletedFalse(start, start.plusMonths(1))
                 .stream()
                 .map(saleMapper::toDto)
                 .toList();
@@ -149,10 +371,9 @@ public class SaleServiceImpl implements SaleService {
 
     @Override
     public List<SaleDto> findBySaleDateYear(int year) {
-        if (year < 2020 || year > 9999) {
-            throw new IllegalArgumentException("The year must be in a valid range (2020-9999)");
-        }
-        return saleRepository.findBySaleDateYearAndDeletedFalse(year)
+        validateYear(year);
+        LocalDateTime start = LocalDate.of(year, 1, 1).atStartOfDay();
+        return saleRepository.findBySaleDateRangeAndDeletedFalse(start, start.plusYears(1))
                 .stream()
                 .map(saleMapper::toDto)
                 .toList();
@@ -160,15 +381,209 @@ public class SaleServiceImpl implements SaleService {
 
     @Override
     public List<SaleDto> findByProductId(Integer productId) {
-        return saleRepository.findByDeletedFalse()
+        return saleRepository.findByProductIdAndDeletedFalse(productId)
                 .stream()
-                .filter(sale -> sale.getSaleDetails().stream()
-                        .anyMatch(item -> item.getProduct().getId().equals(productId)))
                 .map(saleMapper::toDto)
                 .toList();
     }
 
-    private Double calculateTotal(List<SaleDetail>  saleDetails){
+    /**
+     * Method to fill the daily rollup from the stored sales when it is empty, as on the first start with the summaries.
+     * From then on each sale keeps it up to date. Sales committed while it runs could be counted twice, so it is
+     * meant to run before the instance takes traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRollup() {
+        if (salesDailyRollupRepository.count() > 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        salesDailyRollupRepository.rebuild();
+        log.info("Sales daily rollup backfilled from the stored sales in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public SalesSummaryDto getSalesSummary(String startDate, String endDate, Integer productId) {
+        LocalDate start = Util.stringToLocalDate(startDate);
+        LocalDate end = Util.stringToLocalDate(endDate);
+        validateDateRange(start.atStartOfDay(), end.atStartOfDay());
+        SalesDailyRollupRepository.Totals totals = salesDailyRollupRepository.sumBetween(rollupProductId(productId), start, end);
+        return toSummary(null, totals);
+    }
+
+    @Override
+    public List<SalesSummaryDto> getDailySalesSummary(String startDate, String endDate, Integer productId) {
+        LocalDate start = Util.stringToLocalDate(startDate);
+        LocalDate end = Util.stringToLocalDate(endDate);
+        validateDateRange(start.atStartOfDay(), end.atStartOfDay());
+        return salesDailyRollupRepository.sumByDayBetween(rollupProductId(productId), start, end)
+                .stream()
+                .map(totals -> toSummary(Util.localDateToString(totals.getSaleDay()), totals))
+                .toList();
+    }
+
+    @Override
+    public SaleExport exportBySaleDateBetween(String startDate, String endDate) {
+        LocalDateTime start = Util.stringToLocalDateTime(startDate);
+        LocalDateTime end = Util.stringToLocalDateTime(endDate);
+        validateDateRange(start, end);
+        return consumer -> export(() -> saleRepository.streamBySaleDateBetweenAndDeletedFalseOrderByIdAsc(start, end), consumer);
+    }
+
+    @Override
+    public SaleExport exportByClientId(Integer clientId) {
+        if (!clientRepository.existsById(clientId)) {
+            throw new NotFoundException("Client not found");
+        }
+        return consumer -> export(() -> saleRepository.streamByClientIdAndDeletedFalseOrderByIdAsc(clientId), consumer);
+    }
+
+    @Override
+    public SaleExport exportByUserId(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        return consumer -> export(() -> saleRepository.streamByUserIdAndDeletedFalseOrderByIdAsc(userId), consumer);
+    }
+
+    @Override
+    public SaleExport exportBySaleDateMonth(int year, int monthNumber) {
+        validateYear(year);
+        validateMonth(monthNumber);
+        LocalDateTime start = LocalDate.of(year, monthNumber, 1).atStartOfDay();
+        return consumer -> export(() -> saleRepository.streamBySaleDateRangeAndDeletedFalse(start, start.plusMonths(1)), consumer);
+    }
+
+    @Override
+    public SaleExport exportBySaleDateYear(int year) {
+        validateYear(year);
+        LocalDateTime start = LocalDate.of(year, 1, 1).atStartOfDay();
+        return consumer -> export(() -> saleRepository.streamBySaleDateRangeAndDeletedFalse(start, start.plusYears(1)), consumer);
+    }
+
+    /**
+     * Method to read the sales of an export in a read-only transaction, open only while the response is written.
+     * Each sale is detached once it was handed over, so the persistence context does not grow with the size of the export
+     */
+    private void export(Supplier<Stream<Sale>> query, Consumer<SaleDto> consumer){
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Sale> sales = query.get()) {
+                sales.forEach(sale -> {
+                    consumer.accept(saleMapper.toDto(sale));
+                    entityManager.detach(sale);
+                });
+            }
+        });
+    }
+
+    private void validateDateRange(LocalDateTime start, LocalDateTime end){
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("The start date cannot be later than the end date.");
+        }
+    }
+
+    private void validateMonth(int monthNumber){
+        if (monthNumber < 1 || monthNumber > 12) {
+            throw new IllegalArgumentException("Invalid month number. The month number must be between 1 and 12");
+        }
+    }
+
+    private void validateYear(int year){
+        if (year < 2020 || year > 9999) {
+            throw new IllegalArgumentException("The year must be in a valid range (2020-9999)");
+        }
+    }
+
+    /**
+     * Method to build the rollup rows of a sale: one row with the totals of the sale and one row per product.
+     * The sign is 1 when the sale is created and -1 when it is deleted.
+     */
+    private List<SalesDailyRollup> toRollup(Sale sale, int sign){
+        LocalDate day = sale.getSaleDate().toLocalDate();
+        Integer userId = sale.getUser().getId();
+        Integer clientId = sale.getClient() != null ? sale.getClient().getId() : SalesDailyRollup.NO_CLIENT;
+        Map<Integer, SalesDailyRollup> productRows = new LinkedHashMap<>();
+        long units = 0;
+        for (SaleDetail detail : sale.getSaleDetails()) {
+            Product product = detail.getProduct();
+            SalesDailyRollup row = productRows.computeIfAbsent(product.getId(),
+                    productId -> new SalesDailyRollup(day, userId, clientId, productId, sign, 0, 0));
+            row.setUnits(row.getUnits() + (long) sign * detail.getAmount());
+            row.setRevenue(row.getRevenue() + sign * detail.getAmount() * unitPrice(detail));
+            units += detail.getAmount();
+        }
+        List<SalesDailyRollup> rollup = new ArrayList<>();
+        rollup.add(new SalesDailyRollup(day, userId, clientId, SalesDailyRollup.ALL_PRODUCTS, sign, sign * units, sign * sale.getTotalPrice()));
+        rollup.addAll(productRows.values());
+        return rollup;
+    }
+
+    /**
+     * Method to get the price a line was sold at; lines saved before the price was stored fall back to the current one
+     */
+    private static double unitPrice(SaleDetail detail){
+        return detail.getUnitPrice() != null ? detail.getUnitPrice() : detail.getProduct().getPrice();
+    }
+
+    /**
+     * Method to get the stock left of the products of the sales, from the ledger when it is enabled
+     */
+    private Map<Integer, Integer> stockAfterSale(List<Sale> sales){
+        Map<Integer, Integer> stocks = new LinkedHashMap<>();
+        for (Sale sale : sales) {
+            for (SaleDetail detail : sale.getSaleDetails()) {
+                Product product = detail.getProduct();
+                stocks.put(product.getId(), stockLedger != null ? stockLedger.available(product.getId()) : product.getStock());
+            }
+        }
+        return stocks;
+    }
+
+    private Integer rollupProductId(Integer productId){
+        return productId != null ? productId : SalesDailyRollup.ALL_PRODUCTS;
+    }
+
+    private SalesSummaryDto toSummary(String date, SalesDailyRollupRepository.Totals totals){
+        return new SalesSummaryDto(
+                date,
+                totals.getSalesCount() != null ? totals.getSalesCount() : 0,
+                totals.getUnits() != null ? totals.getUnits() : 0,
+                totals.getRevenue() != null ? totals.getRevenue() : 0.0);
+    }
+
+    private Map<Integer, Integer> collectQuantities(SaleDto saleDto){
+        if (saleDto == null || saleDto.getSaleDetail() == null || saleDto.getSaleDetail().isEmpty()) {
+            throw new ValidationException("The sale or its details cannot be null or empty");
+        }
+        if(saleDto.getUserId() == null){
+            throw new ValidationException("The user id is required.");
+        }
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        saleDto.getSaleDetail().forEach(saleDetailDto -> {
+            if (saleDetailDto == null || saleDetailDto.getProduct() == null || saleDetailDto.getProduct().getId() == null) {
+                throw new ValidationException("The product id is required in sale details");
+            }
+            if (saleDetailDto.getAmount() <= 0) {
+                throw new ValidationException("The amount in sale details must be greater than 0");
+            }
+            quantities.merge(saleDetailDto.getProduct().getId(), saleDetailDto.getAmount(), Integer::sum);
+        });
+        return quantities;
+    }
+
+    private List<SaleDetail> toSaleDetails(SaleDto saleDto, Map<Integer, Product> products){
+        List<SaleDetail> saleDetails = new ArrayList<>();
+        for (SaleDetailDto saleDetailDto : saleDto.getSaleDetail()) {
+            SaleDetail saleDetail = saleDetailMapper.toEntity(saleDetailDto, products.get(saleDetailDto.getProduct().getId()));
+            saleDetail.setDeleted(false);
+            saleDetail.setUnitPrice(saleDetail.getProduct().getPrice());
+            saleDetails.add(saleDetail);
+        }
+        return saleDetails;
+    }
+
+    // Package-private so it can be benchmarked without a Spring context
+    static Double calculateTotal(List<SaleDetail>  saleDetails){
         Double total = 0.0;
         for (SaleDetail detail : saleDetails) {
             total += detail.getAmount() * detail.getProduct().getPrice();
@@ -176,10 +591,75 @@ public class SaleServiceImpl implements SaleService {
         return total;
     }
 
-    private void updateProductStock(SaleDetail saleDetail){
-        Product product = saleDetail.getProduct();
-        Integer amount = saleDetail.getAmount();
-        product.setStock(product.getStock() - amount);
-        productRepository.save(product);
+    private void reserveStock(Map<Integer, Integer> quantities, Map<Integer, Product> products){
+        if (!stockLedger.reserve(quantities, products)) {
+            throw insufficientStock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    stockLedger.commit(quantities);
+                } else {
+                    stockLedger.release(quantities);
+                }
+            }
+        });
+    }
+
+    /**
+     * Method to count a sale rejected for lack of stock and build its exception
+     */
+    private ValidationException insufficientStock(){
+        stockRejected.increment();
+        return new ValidationException("The product in sale details does not have enough stock");
+    }
+
+    private void updateProductStock(Map<Integer, Integer> quantities, Map<Integer, Product> products){
+        if (stockLedger != null) {
+            //The ledger writes the stock later, the thresholds are checked against its available amounts
+            afterCommit(() -> quantities.keySet().forEach(productId ->
+                    lowStockMonitor.stockChanged(products.get(productId), stockLedger.available(productId))));
+            return;
+        }
+        int updated = productRepository.decrementStock(quantities);
+        if (updated != quantities.size()) {
+            throw insufficientStock();
+        }
+        //The rows stay locked by the UPDATE until commit, so the stock read back is the one this sale leaves.
+        //Subtracting from the stock loaded before would ignore the sales of the same products committed meanwhile
+        productRepository.findStockByIdIn(quantities.keySet())
+                .forEach(stock -> products.get(stock.getId()).setStock(stock.getStock()));
+        publishStockChanges(quantities, products);
+    }
+
+    /**
+     * Method to remove the products from the catalog cache, apply the sold amounts to the facet totals and check
+     * the reorder thresholds once the transaction commits, so a concurrent read cannot put the old stock back
+     * before the update is visible and no alert is raised for a sale that is rolled back
+     */
+    private void publishStockChanges(Map<Integer, Integer> quantities, Map<Integer, Product> products){
+        Map<Integer, Integer> soldAmounts = new HashMap<>(quantities);
+        afterCommit(() -> {
+            soldAmounts.keySet().forEach(productCache::evict);
+            productFacetIndex.decrementStock(soldAmounts);
+            soldAmounts.keySet().forEach(productId -> {
+                Product product = products.get(productId);
+                lowStockMonitor.stockChanged(product, product.getStock());
+            });
+        });
+    }
+
+    private void afterCommit(Runnable action){
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -1,36 +1,48 @@
 package ar.com.manager.inventory.service.impl;
 
+import ar.com.manager.inventory.changes.ChangeFeed;
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.changes.Watermark;
 import ar.com.manager.inventory.dto.SupplierDto;
 import ar.com.manager.inventory.entity.Supplier;
 import ar.com.manager.inventory.exception.NotFoundException;
+import ar.com.manager.inventory.exception.UniqueConstraints;
 import ar.com.manager.inventory.exception.ValidationException;
 import ar.com.manager.inventory.mapper.SupplierMapper;
 import ar.com.manager.inventory.repository.SupplierRepository;
 import ar.com.manager.inventory.service.SupplierService;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class SupplierServiceImpl implements SupplierService {
+    private static final Map<String, String> UNIQUE_MESSAGES = Map.of(
+            Supplier.UK_EMAIL, "The supplier email already exists.",
+            Supplier.UK_PHONE_NUMBER, "The supplier phone number already exists.");
+
     SupplierRepository supplierRepository;
     SupplierMapper supplierMapper;
-    public SupplierServiceImpl(SupplierRepository supplierRepository, SupplierMapper supplierMapper) {
+    ChangeFeed changeFeed;
+    public SupplierServiceImpl(SupplierRepository supplierRepository, SupplierMapper supplierMapper, ChangeFeed changeFeed) {
         this.supplierRepository = supplierRepository;
         this.supplierMapper = supplierMapper;
+        this.changeFeed = changeFeed;
     }
     @Override
     public SupplierDto addSupplier(SupplierDto supplierDto) {
-        if(supplierRepository.existsByEmail(supplierDto.getEmail())) {
-            throw new ValidationException("The supplier email already exists.");
-        }
-        if(supplierRepository.existsByPhoneNumber(supplierDto.getPhoneNumber())) {
-            throw new ValidationException("The supplier phone number already exists.");
-        }
         Supplier supplier = supplierMapper.toEntity(supplierDto);
         supplier.setDeleted(false);
-        Supplier savedSupplier = supplierRepository.save(supplier);
+        Supplier savedSupplier;
+        try {
+            savedSupplier = supplierRepository.saveAndFlush(supplier);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, UNIQUE_MESSAGES);
+        }
         return supplierMapper.toDto(savedSupplier);
     }
 
@@ -43,14 +55,12 @@ public class SupplierServiceImpl implements SupplierService {
             String errorMessage = "The supplier with id " + id + " does not exist.";
             return new NotFoundException(errorMessage);
         });
-        if(supplierRepository.existsByEmailAndIdNot(supplierDto.getEmail(), id)) {
-            throw new ValidationException("The supplier email already exists.");
-        }
-        if(supplierRepository.existsByPhoneNumberAndIdNot(supplierDto.getPhoneNumber(), id)) {
-            throw new ValidationException("The supplier phone number already exists.");
-        }
         setSupplier(supplierDto,supplier);
-        supplier = supplierRepository.save(supplier);
+        try {
+            supplier = supplierRepository.saveAndFlush(supplier);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, UNIQUE_MESSAGES);
+        }
         return supplierMapper.toDto(supplier);
     }
 
@@ -74,13 +84,20 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    public List<SupplierDto> getAllSuppliers() {
-        return supplierRepository.findByDeletedFalse()
+    public List<SupplierDto> getAllSuppliers(Integer after, int limit) {
+        return supplierRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(after == null ? 0 : after, Limit.of(limit))
                 .stream()
                 .map(supplierMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ChangePage<SupplierDto> getSupplierChanges(String since, int limit) {
+        Watermark watermark = Watermark.parse(since);
+        List<Supplier> suppliers = supplierRepository.findChangedSince(watermark.getUpdatedAt(), watermark.getId(), changeFeed.until(), Limit.of(limit));
+        return ChangePage.of(suppliers, limit, watermark, Supplier::getUpdatedAt, Supplier::getId, supplierMapper::toDtoWithoutProducts);
+    }
+
     private void setSupplier(SupplierDto modifiedSupplier, Supplier finalSupplier) {
         finalSupplier.setFirstName(modifiedSupplier.getFirstName());
         finalSupplier.setLastName(modifiedSupplier.getLastName());
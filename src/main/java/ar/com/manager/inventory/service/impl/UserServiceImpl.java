@@ -1,41 +1,55 @@
 package ar.com.manager.inventory.service.impl;
 
+import ar.com.manager.inventory.changes.ChangeFeed;
+import ar.com.manager.inventory.changes.ChangePage;
+import ar.com.manager.inventory.changes.Watermark;
 import ar.com.manager.inventory.dto.UserDto;
 import ar.com.manager.inventory.entity.User;
 import ar.com.manager.inventory.exception.NotFoundException;
+import ar.com.manager.inventory.exception.UniqueConstraints;
 import ar.com.manager.inventory.exception.ValidationException;
 import ar.com.manager.inventory.mapper.UserMapper;
 import ar.com.manager.inventory.repository.UserRepository;
 import ar.com.manager.inventory.service.UserService;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Map<String, String> ADD_UNIQUE_MESSAGES = Map.of(
+            User.UK_USER_NAME, "The user username already exists",
+            User.UK_EMAIL, "The user email already exists",
+            User.UK_PHONE_NUMBER, "The user phone number already exists");
+    private static final Map<String, String> UPDATE_UNIQUE_MESSAGES = Map.of(
+            User.UK_USER_NAME, "The user UserName already exists",
+            User.UK_EMAIL, "The user Email already exists",
+            User.UK_PHONE_NUMBER, "The user PhoneNumber already exists");
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    private final ChangeFeed changeFeed;
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, ChangeFeed changeFeed) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.changeFeed = changeFeed;
     }
 
     @Override
     public UserDto addUser(UserDto userDto) throws ValidationException {
-        if(userRepository.existsByUserName(userDto.getUserName())){
-            throw new ValidationException("The user username already exists");
-        }
-        if (userRepository.existsByEmail(userDto.getEmail())){
-            throw new ValidationException("The user email already exists");
-        }
-        if (userRepository.existsByPhoneNumber(userDto.getPhoneNumber())){
-            throw new ValidationException("The user phone number already exists");
-        }
         User user = userMapper.toEntity(userDto);
         user.setDeleted(false);
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, ADD_UNIQUE_MESSAGES);
+        }
         return userMapper.toDto(savedUser);
     }
 
@@ -48,17 +62,12 @@ public class UserServiceImpl implements UserService {
             String errorMessage = "The user with id " + id + " does not exist.";
             return new NotFoundException(errorMessage);
         });
-        if(userRepository.existsByUserNameAndIdNot(userDto.getUserName(), id)){
-            throw new ValidationException("The user UserName already exists");
-        }
-        if(userRepository.existsByEmailAndIdNot(userDto.getEmail(), id)){
-            throw new ValidationException("The user Email already exists");
-        }
-        if(userRepository.existsByPhoneNumberAndIdNot(userDto.getPhoneNumber(), id)){
-            throw new ValidationException("The user PhoneNumber already exists");
-        }
         setUser(userDto, user);
-        user = userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraints.toValidationException(e, UPDATE_UNIQUE_MESSAGES);
+        }
         return userMapper.toDto(user);
     }
 
@@ -82,13 +91,20 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findByDeletedFalse()
+    public List<UserDto> getAllUsers(Integer after, int limit) {
+        return userRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(after == null ? 0 : after, Limit.of(limit))
                 .stream()
                 .map(userMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ChangePage<UserDto> getUserChanges(String since, int limit) {
+        Watermark watermark = Watermark.parse(since);
+        List<User> users = userRepository.findChangedSince(watermark.getUpdatedAt(), watermark.getId(), changeFeed.until(), Limit.of(limit));
+        return ChangePage.of(users, limit, watermark, User::getUpdatedAt, User::getId, userMapper::toDtoWithoutSales);
+    }
+
     private void setUser(UserDto modifiedUser, User finalUser) {
         finalUser.setFirstName(modifiedUser.getFirstName());
         finalUser.setLastName(modifiedUser.getLastName());
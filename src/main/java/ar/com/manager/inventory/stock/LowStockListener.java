@@ -0,0 +1,15 @@
+package ar.com.manager.inventory.stock;
+
+import ar.com.manager.inventory.dto.LowStockAlertDto;
+
+/**
+ * Receives the alerts of the LowStockMonitor. Every bean implementing it is notified, on the thread that
+ * committed the stock change, once when a product falls to its reorder threshold and once when it recovers.
+ */
+public interface LowStockListener {
+
+    void onLowStock(LowStockAlertDto alert);
+
+    default void onStockRecovered(LowStockAlertDto alert) {
+    }
+}
@@ -0,0 +1,102 @@
+package ar.com.manager.inventory.stock;
+
+import ar.com.manager.inventory.config.LowStockProperties;
+import ar.com.manager.inventory.dto.LowStockAlertDto;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.repository.ProductRepository;
+import ar.com.manager.inventory.util.Util;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates the reorder threshold of a product each time its stock changes and keeps the products that
+ * are at or below it. The threshold is the one of the product, or else the one of its category, or else
+ * the default one. Listeners are notified only when a product crosses its threshold in either direction.
+ */
+@Component
+public class LowStockMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private final ProductRepository productRepository;
+    private final LowStockProperties properties;
+    private final ObjectProvider<LowStockListener> listeners;
+    private final Map<Integer, LowStockAlertDto> alerts = new ConcurrentHashMap<>();
+
+    public LowStockMonitor(ProductRepository productRepository, LowStockProperties properties,
+                           ObjectProvider<LowStockListener> listeners, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.listeners = listeners;
+        Gauge.builder("inventory.stock.low", alerts, Map::size)
+                .description("Products at or below their reorder threshold")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        productRepository.findByDeletedFalse().forEach(product -> stockChanged(product, product.getStock()));
+        log.info("Low stock monitor started with {} products at or below their threshold", alerts.size());
+    }
+
+    /**
+     * Method to evaluate the new stock of a product against its reorder threshold
+     */
+    public void stockChanged(Product product, int stock) {
+        int threshold = threshold(product);
+        Integer productId = product.getId();
+        if (stock > threshold) {
+            LowStockAlertDto recovered = alerts.remove(productId);
+            if (recovered != null) {
+                recovered.setStock(stock);
+                listeners.orderedStream().forEach(listener -> listener.onStockRecovered(recovered));
+            }
+            return;
+        }
+        LowStockAlertDto alert = new LowStockAlertDto(productId, product.getName(), product.getCategory(), stock, threshold,
+                Util.localDateTimeToString(LocalDateTime.now()));
+        LowStockAlertDto previous = alerts.putIfAbsent(productId, alert);
+        if (previous == null) {
+            log.warn("Product {} reached its reorder threshold: stock {}, threshold {}", productId, stock, threshold);
+            listeners.orderedStream().forEach(listener -> listener.onLowStock(alert));
+            return;
+        }
+        //Already alerted, only the stock and threshold are refreshed
+        alerts.computeIfPresent(productId, (id, current) -> new LowStockAlertDto(id, product.getName(), product.getCategory(),
+                stock, threshold, current.getDetectedAt()));
+    }
+
+    /**
+     * Method to drop the alert of a product that no longer exists, without notifying the listeners
+     */
+    public void remove(Integer productId) {
+        alerts.remove(productId);
+    }
+
+    public List<LowStockAlertDto> getAlerts() {
+        List<LowStockAlertDto> activeAlerts = new ArrayList<>(alerts.values());
+        activeAlerts.sort(Comparator.comparing(LowStockAlertDto::getProductId));
+        return activeAlerts;
+    }
+
+    private int threshold(Product product) {
+        if (product.getReorderThreshold() != null) {
+            return product.getReorderThreshold();
+        }
+        Integer categoryThreshold = product.getCategory() == null ? null : properties.getCategoryThresholds().get(product.getCategory());
+        return categoryThreshold != null ? categoryThreshold : properties.getDefaultThreshold();
+    }
+}
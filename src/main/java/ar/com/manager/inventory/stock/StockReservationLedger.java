@@ -0,0 +1,254 @@
+package ar.com.manager.inventory.stock;
+
+import ar.com.manager.inventory.config.CacheConfig;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.index.ProductFacetIndex;
+import ar.com.manager.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stock ledger for hot products. Sale lines are admitted or rejected against the in-memory
+ * available stock and the committed amounts are written to the products table in periodic batches.
+ * It is only created when inventory.stock-ledger.enabled is true.
+ * <p>
+ * The available stock of a product is the stock last read from or written to the products table minus the units
+ * reserved, committed and not yet flushed. Reloads only move it by what changed in the table, and they are
+ * serialized with the flush so a reload never reads the table between taking the pending units and writing them.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.stock-ledger.enabled", havingValue = "true")
+public class StockReservationLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationLedger.class);
+
+    private final ProductRepository productRepository;
+    private final ProductFacetIndex productFacetIndex;
+    private final Cache productCache;
+    private final Stripe[] stripes;
+    private final Counter rejections;
+    private final Counter flushFailures;
+    private final AtomicLong lastFlush = new AtomicLong(System.currentTimeMillis());
+
+    public StockReservationLedger(ProductRepository productRepository, ProductFacetIndex productFacetIndex, MeterRegistry meterRegistry,
+                                  CacheManager cacheManager, @Value("${inventory.stock-ledger.stripes:16}") int stripeCount) {
+        this.productRepository = productRepository;
+        this.productFacetIndex = productFacetIndex;
+        this.productCache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(stripeCount, 1))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.rejections = meterRegistry.counter("inventory.stock.ledger.rejections");
+        this.flushFailures = meterRegistry.counter("inventory.stock.ledger.flush.failures");
+        Gauge.builder("inventory.stock.ledger.contention", this, StockReservationLedger::contention)
+                .description("CAS retries while reserving stock")
+                .register(meterRegistry);
+        Gauge.builder("inventory.stock.ledger.pending", this, StockReservationLedger::pending)
+                .description("Committed units not yet written to the products table")
+                .register(meterRegistry);
+        Gauge.builder("inventory.stock.ledger.flush.lag", this, StockReservationLedger::flushLag)
+                .description("Milliseconds since the last successful flush")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Method to load the available stock of every non deleted product from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconcile() {
+        List<Product> products = productRepository.findByDeletedFalse();
+        products.forEach(product -> reload(product.getId(), product.getStock()));
+        log.info("Stock ledger reconciled with {} products", products.size());
+    }
+
+    /**
+     * Method to reload the available stock of a product whose stock was changed outside the ledger, for example
+     * a restock. Must be called once that change is committed, the units reserved or not yet flushed are kept.
+     * The stock is read with a query so an entity cached in the caller's persistence context is not used.
+     */
+    public synchronized void reconcile(Integer productId) {
+        productRepository.findStockByIdIn(List.of(productId)).forEach(stock -> reload(stock.getId(), stock.getStock()));
+    }
+
+    /**
+     * Method to reserve the amounts of a sale. Either every product is reserved or none is.
+     * Products that are not yet in the ledger are seeded with the stock of the given entities.
+     */
+    public boolean reserve(Map<Integer, Integer> quantities, Map<Integer, Product> products) {
+        Map<Integer, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            Integer productId = entry.getKey();
+            if (!tryReserve(productId, entry.getValue(), products.get(productId).getStock())) {
+                release(reserved);
+                rejections.increment();
+                return false;
+            }
+            reserved.put(productId, entry.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Method to give back the amounts of a reservation whose sale was not committed
+     */
+    public void release(Map<Integer, Integer> quantities) {
+        quantities.forEach((productId, amount) -> stripe(productId).slots.get(productId).available.addAndGet(amount));
+    }
+
+    /**
+     * Method to mark the amounts of a committed sale as pending to be written to the database
+     */
+    public void commit(Map<Integer, Integer> quantities) {
+        quantities.forEach((productId, amount) -> stripe(productId).slots.get(productId).pending.addAndGet(amount));
+    }
+
+    public Integer available(Integer productId) {
+        Slot slot = stripe(productId).slots.get(productId);
+        return slot == null ? null : slot.available.get();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock-ledger.flush-interval:1000}")
+    public synchronized void flush() {
+        Map<Integer, Integer> deltas = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.slots.forEach((productId, slot) -> {
+                int delta = slot.pending.getAndSet(0);
+                if (delta != 0) {
+                    deltas.put(productId, delta);
+                }
+            });
+        }
+        if (deltas.isEmpty()) {
+            lastFlush.set(System.currentTimeMillis());
+            return;
+        }
+        try {
+            Set<Integer> skipped = productRepository.decrementStockEach(deltas);
+            deltas.forEach((productId, delta) -> {
+                if (!skipped.contains(productId)) {
+                    stripe(productId).slots.get(productId).stock -= delta;
+                }
+            });
+            deltas.keySet().forEach(productCache::evict);
+            if (skipped.isEmpty()) {
+                productFacetIndex.decrementStock(deltas);
+            } else {
+                flushFailures.increment();
+                log.warn("Stock ledger flush could not write {} of {} products, reloading them from the database", skipped.size(), deltas.size());
+                Map<Integer, Integer> written = new HashMap<>(deltas);
+                written.keySet().removeAll(skipped);
+                productFacetIndex.decrementStock(written);
+                //The units of the skipped products were sold, they stay pending until the stock can be written
+                skipped.forEach(productId -> stripe(productId).slots.get(productId).pending.addAndGet(deltas.get(productId)));
+                productRepository.findAllById(skipped).forEach(product -> {
+                    reload(product.getId(), product.getStock());
+                    if (!product.getDeleted()) {
+                        productFacetIndex.put(product);
+                    }
+                });
+            }
+            lastFlush.set(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            deltas.forEach((productId, delta) -> stripe(productId).slots.get(productId).pending.addAndGet(delta));
+            log.error("Stock ledger flush failed, {} products will be retried", deltas.size(), e);
+        }
+    }
+
+    /**
+     * Method to apply the stock read from the products table. The reserved and pending units are already taken
+     * from the available stock, so it only moves by the difference with the stock the slot had. Callers hold the
+     * ledger lock.
+     */
+    private void reload(Integer productId, int stock) {
+        Slot slot = slot(productId, stock);
+        slot.available.addAndGet(stock - slot.stock);
+        slot.stock = stock;
+    }
+
+    private boolean tryReserve(Integer productId, int amount, int seed) {
+        Stripe stripe = stripe(productId);
+        AtomicInteger available = slot(productId, seed).available;
+        while (true) {
+            int current = available.get();
+            if (current < amount) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - amount)) {
+                return true;
+            }
+            stripe.contention.increment();
+        }
+    }
+
+    private Slot slot(Integer productId, int seed) {
+        return stripe(productId).slots.computeIfAbsent(productId, id -> new Slot(seed));
+    }
+
+    private Stripe stripe(Integer productId) {
+        int hash = productId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private double contention() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.contention.sum();
+        }
+        return total;
+    }
+
+    private double pending() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            for (Slot slot : stripe.slots.values()) {
+                total += slot.pending.get();
+            }
+        }
+        return total;
+    }
+
+    private double flushLag() {
+        return System.currentTimeMillis() - lastFlush.get();
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<Integer, Slot> slots = new ConcurrentHashMap<>();
+        private final LongAdder contention = new LongAdder();
+    }
+
+    private static final class Slot {
+        private final AtomicInteger available;
+        private final AtomicInteger pending = new AtomicInteger();
+        //Stock of the products table the available stock is based on, only changed by flush and reload
+        private int stock;
+
+        private Slot(int stock) {
+            this.available = new AtomicInteger(stock);
+            this.stock = stock;
+        }
+    }
+}
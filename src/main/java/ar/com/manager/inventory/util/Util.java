@@ -10,6 +10,13 @@ import java.time.format.DateTimeParseException;
 
 public class  Util {
 
+    // DateTimeFormatter is immutable and thread-safe, so the patterns are compiled once
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int DATE_TIME_LENGTH = "dd/MM/yyyy HH:mm:ss".length();
+    private static final ThreadLocal<StringBuilder> FORMAT_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(DATE_TIME_LENGTH));
+
     /**
      * Method to convert a string in dd/MM/yyyy HH:mm:ss format to LocalDateTime
      */
@@ -18,9 +25,8 @@ public class  Util {
             return null;
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
         try {
-            return LocalDateTime.parse(dateTime, formatter);
+            return LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new ValidationException("The date provided does not comply with the format dd/MM/yyyy HH:mm:ss");
         }
@@ -34,9 +40,58 @@ public class  Util {
             return null;
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        return dateTime.format(formatter);
+        StringBuilder buffer = FORMAT_BUFFER.get();
+        buffer.setLength(0);
+        return appendLocalDateTime(buffer, dateTime).toString();
+    }
+
+    /**
+     * Method to append a LocalDateTime in dd/MM/yyyy HH:mm:ss format to the given buffer, without intermediate strings.
+     * Produces the same text as DATE_TIME_FORMATTER, localDateTimeToString reuses one buffer per thread with it
+     */
+    static StringBuilder appendLocalDateTime(StringBuilder buffer, LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            //yyyy is the year of era, so year 0 and earlier print as positive years and years above 9999 get a sign,
+            //both left to the formatter
+            return buffer.append(DATE_TIME_FORMATTER.format(dateTime));
+        }
+        appendTwoDigits(buffer, dateTime.getDayOfMonth()).append('/');
+        appendTwoDigits(buffer, dateTime.getMonthValue()).append('/');
+        appendTwoDigits(buffer, year / 100);
+        appendTwoDigits(buffer, year % 100).append(' ');
+        appendTwoDigits(buffer, dateTime.getHour()).append(':');
+        appendTwoDigits(buffer, dateTime.getMinute()).append(':');
+        return appendTwoDigits(buffer, dateTime.getSecond());
     }
 
+    /**
+     * Method to convert a string in dd/MM/yyyy format to LocalDate
+     */
+    public static LocalDate stringToLocalDate(String date) {
+        if (date == null) {
+            return null;
+        }
 
+        try {
+            return LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("The date provided does not comply with the format dd/MM/yyyy");
+        }
+    }
+
+    /**
+     * Method to convert a LocalDate to a string in dd/MM/yyyy format
+     */
+    public static String localDateToString(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+
+        return date.format(DATE_FORMATTER);
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder buffer, int value) {
+        return buffer.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
 }
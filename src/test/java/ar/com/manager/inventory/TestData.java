@@ -0,0 +1,53 @@
+package ar.com.manager.inventory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rows for the integration tests, inserted with JDBC like the load generator does. Every call uses new
+ * unique values, so the tests of a class can share their database.
+ */
+public final class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int user() {
+        int n = SEQUENCE.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, user_name, password, phone_number, email, type, enabled, deleted, updated_at, version) " +
+                        "VALUES ('User', 'Test', ?, 'secret', ?, ?, 'ADMIN', true, false, ?, 0)",
+                "user" + n, String.format("11%08d", n), "user" + n + "@example.com", now());
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE user_name = ?", Integer.class, "user" + n);
+    }
+
+    public int client() {
+        int n = SEQUENCE.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO clients (first_name, last_name, dni, deleted, updated_at, version) VALUES ('Client', 'Test', ?, false, ?, 0)",
+                String.valueOf(30_000_000 + n), now());
+        return jdbcTemplate.queryForObject("SELECT id FROM clients WHERE dni = ?", Integer.class, String.valueOf(30_000_000 + n));
+    }
+
+    public int product(int userId, int stock, double price) {
+        int n = SEQUENCE.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO products (number, name, stock, bar_code, price, description, category, deleted, user_id, updated_at, version) " +
+                        "VALUES (?, ?, ?, ?, ?, 'Test product', 'Category', false, ?, ?, 0)",
+                "TEST-" + n, "Product " + n, stock, String.valueOf(300_000_000_000L + n), price, userId, now());
+        return jdbcTemplate.queryForObject("SELECT id FROM products WHERE number = ?", Integer.class, "TEST-" + n);
+    }
+
+    public int stock(int productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+    }
+}
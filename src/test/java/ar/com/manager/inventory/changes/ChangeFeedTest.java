@@ -0,0 +1,143 @@
+package ar.com.manager.inventory.changes;
+
+import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads the product feed over H2 with a short settle time: rows changed at the same time are resumed by id,
+ * deleted rows are returned with deleted set, and commits later than the settle time are counted.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:change-feed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "inventory.changes.settle-millis=" + ChangeFeedTest.SETTLE_MILLIS})
+@ActiveProfiles("test")
+class ChangeFeedTest {
+
+    static final long SETTLE_MILLIS = 500;
+
+    private static final AtomicInteger NUMBERS = new AtomicInteger();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void rowsChangedAtTheSameTimeAreResumedByIdAcrossPages() {
+        LocalDateTime sameTime = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.MICROS);
+        List<Integer> inserted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            inserted.add(insertProduct("Tie", sameTime));
+        }
+
+        List<Integer> read = new ArrayList<>();
+        String since = null;
+        ChangePage<ProductDto> page;
+        do {
+            page = productService.getProductChanges(since, 2);
+            page.getChanges().stream()
+                    .filter(product -> product.getName().startsWith("Tie"))
+                    .forEach(product -> read.add(product.getId()));
+            since = page.getNextSince();
+        } while (page.isHasMore());
+
+        assertThat(read).containsExactlyElementsOf(inserted);
+    }
+
+    @Test
+    void deletedProductsAreReturnedAsTombstonesOnceSettled() throws InterruptedException {
+        Integer id = insertProduct("Tombstone", LocalDateTime.now().minusHours(1));
+        String since = readToTheEnd(null);
+
+        productService.deleteProduct(id);
+        assertThat(find(productService.getProductChanges(since, 100), id))
+                .as("changes within the settle time are held back")
+                .isEmpty();
+
+        Thread.sleep(2 * SETTLE_MILLIS);
+        Optional<ProductDto> tombstone = find(productService.getProductChanges(since, 100), id);
+        assertThat(tombstone).isPresent();
+        assertThat(tombstone.get().isDeleted()).isTrue();
+        assertThat(tombstone.get().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void commitsLaterThanTheSettleTimeAreCounted() {
+        double before = lateCommits();
+
+        transactionTemplate.executeWithoutResult(status -> ChangeStamps.now());
+        assertThat(lateCommits()).isEqualTo(before);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ChangeStamps.now();
+            try {
+                Thread.sleep(3 * SETTLE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ChangeStamps.now();
+        });
+        assertThat(lateCommits()).isEqualTo(before + 1);
+    }
+
+    private Integer insertProduct(String name, LocalDateTime updatedAt) {
+        int number = NUMBERS.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO products (number, name, stock, bar_code, price, description, category, deleted, user_id, updated_at, version) " +
+                        "VALUES (?, ?, 10, ?, 10.5, 'Change feed test product', 'Category', false, ?, ?, 0)",
+                "FEED-" + number, name + " " + number, String.valueOf(200_000_000_000L + number), userId(), Timestamp.valueOf(updatedAt));
+        return jdbcTemplate.queryForObject("SELECT id FROM products WHERE number = ?", Integer.class, "FEED-" + number);
+    }
+
+    private Integer userId() {
+        Integer userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Integer.class);
+        if (userId != null) {
+            return userId;
+        }
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, user_name, password, phone_number, email, type, enabled, deleted, updated_at, version) " +
+                "VALUES ('User', 'Feed', 'feed', 'secret', '1100000001', 'feed@example.com', 'ADMIN', true, false, ?, 0)",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Integer.class);
+    }
+
+    private String readToTheEnd(String since) {
+        ChangePage<ProductDto> page;
+        do {
+            page = productService.getProductChanges(since, 100);
+            since = page.getNextSince();
+        } while (page.isHasMore());
+        return since;
+    }
+
+    private static Optional<ProductDto> find(ChangePage<ProductDto> page, Integer id) {
+        return page.getChanges().stream().filter(product -> id.equals(product.getId())).findFirst();
+    }
+
+    private double lateCommits() {
+        return meterRegistry.counter("inventory.changes.late.commits").count();
+    }
+}
@@ -0,0 +1,56 @@
+package ar.com.manager.inventory.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangePageTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 5, 21, 14, 30, 0, 123_456_000);
+
+    private record Row(LocalDateTime updatedAt, Integer id) {
+    }
+
+    @Test
+    void resumesAfterTheLastRowWhenRowsShareTheirTime() {
+        List<Row> rows = List.of(new Row(TIME, 3), new Row(TIME, 5), new Row(TIME, 8));
+
+        ChangePage<Integer> page = ChangePage.of(rows, 3, Watermark.START, Row::updatedAt, Row::id, Row::id);
+
+        //The next call asks for the rows of the same time with an id above 8, the others of that time were returned
+        assertThat(page.getNextSince()).isEqualTo(new Watermark(TIME, 8).toString());
+        assertThat(page.getChanges()).containsExactly(3, 5, 8);
+    }
+
+    @Test
+    void resumesFromTheLastRowInReadOrder() {
+        List<Row> rows = List.of(new Row(TIME, 9), new Row(TIME.plusNanos(1_000), 2));
+
+        ChangePage<Integer> page = ChangePage.of(rows, 10, Watermark.START, Row::updatedAt, Row::id, Row::id);
+
+        assertThat(Watermark.parse(page.getNextSince()).getUpdatedAt()).isEqualTo(TIME.plusNanos(1_000));
+        assertThat(Watermark.parse(page.getNextSince()).getId()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsTheWatermarkWhenThereAreNoChanges() {
+        Watermark since = new Watermark(TIME, 42);
+
+        ChangePage<Integer> page = ChangePage.of(List.<Row>of(), 10, since, Row::updatedAt, Row::id, Row::id);
+
+        assertThat(page.getNextSince()).isEqualTo(since.toString());
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void hasMoreOnlyWhenThePageIsFull() {
+        List<Row> rows = List.of(new Row(TIME, 1), new Row(TIME, 2));
+
+        assertThat(ChangePage.of(rows, 2, Watermark.START, Row::updatedAt, Row::id, Row::id).isHasMore()).isTrue();
+        assertThat(ChangePage.of(rows, 3, Watermark.START, Row::updatedAt, Row::id, Row::id).isHasMore()).isFalse();
+    }
+}
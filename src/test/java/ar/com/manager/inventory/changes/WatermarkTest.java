@@ -0,0 +1,55 @@
+package ar.com.manager.inventory.changes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WatermarkTest {
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  "})
+    void missingWatermarkIsTheStartOfTheFeed(String since) {
+        assertThat(Watermark.parse(since)).isSameAs(Watermark.START);
+    }
+
+    @Test
+    void parsesWhatItWrites() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 5, 21, 14, 30, 0, 123_456_000);
+        Watermark watermark = Watermark.parse(new Watermark(updatedAt, 154).toString());
+
+        assertThat(watermark.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(watermark.getId()).isEqualTo(154);
+        assertThat(watermark.toString()).isEqualTo("2025-05-21T14:30:00.123456_154");
+    }
+
+    @Test
+    void parsesTheWholeSecondsWrittenWithoutFraction() {
+        Watermark watermark = Watermark.parse(new Watermark(LocalDateTime.of(2025, 5, 21, 14, 30), 7).toString());
+
+        assertThat(watermark.getUpdatedAt()).isEqualTo(LocalDateTime.of(2025, 5, 21, 14, 30));
+        assertThat(watermark.getId()).isEqualTo(7);
+    }
+
+    @Test
+    void startIsParsedBackToTheSamePosition() {
+        Watermark watermark = Watermark.parse(Watermark.START.toString());
+
+        assertThat(watermark.getUpdatedAt()).isEqualTo(Watermark.START.getUpdatedAt());
+        assertThat(watermark.getId()).isEqualTo(Watermark.START.getId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-05-21T14:30:00", "2025-05-21T14:30:00_", "2025-05-21T14:30:00_abc", "21/05/2025_1", "_1"})
+    void rejectsInvalidWatermarks(String since) {
+        assertThatThrownBy(() -> Watermark.parse(since))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(since);
+    }
+}
@@ -0,0 +1,92 @@
+package ar.com.manager.inventory.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * With the virtual-threads profile the concurrency against the database is bounded by the Hikari pool:
+ * threads beyond the pool size wait for a connection and fail only after connection-timeout.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=1000"})
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadPoolTest {
+
+    private static final int POOL_SIZE = 4;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Test
+    void asyncExecutorIsLimitedToThePoolSize() {
+        assertThat(taskExecutor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+        assertThat(((SimpleAsyncTaskExecutor) taskExecutor).getConcurrencyLimit()).isEqualTo(POOL_SIZE);
+    }
+
+    @Test
+    void virtualThreadsWaitForAConnectionInsteadOfOpeningMore() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10 * POOL_SIZE; i++) {
+                results.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        maxActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                        Thread.sleep(20);
+                        return connection.isValid(1);
+                    }
+                }));
+            }
+        }
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        assertThat(maxActive.get()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(pool.getTotalConnections()).isLessThanOrEqualTo(POOL_SIZE);
+    }
+
+    @Test
+    void exhaustedPoolFailsAfterTheConnectionTimeout() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                held.add(dataSource.getConnection());
+            }
+            long start = System.nanoTime();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+}
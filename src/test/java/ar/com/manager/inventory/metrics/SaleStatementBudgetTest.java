@@ -0,0 +1,150 @@
+package ar.com.manager.inventory.metrics;
+
+import ar.com.manager.inventory.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Calls every budgeted route of SaleController once with fail-on-exceeded, so a change that adds
+ * statements to a route fails here instead of in the load test. Keep it in step with inventory.sql-budget.routes
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:sale-budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "inventory.sql-budget.fail-on-exceeded=true",
+        "inventory.sale-queue.enabled=true"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class SaleStatementBudgetTest {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final int PRODUCTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlBudgetProperties sqlBudget;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Set<String> called = new HashSet<>();
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, user_name, password, phone_number, email, type, enabled, deleted, updated_at, version) " +
+                "VALUES ('User', 'Budget', 'budget', 'secret', '1100000001', 'budget@example.com', 'ADMIN', true, false, ?, 0)", now);
+        jdbcTemplate.update("INSERT INTO suppliers (first_name, last_name, phone_number, email, company, deleted, updated_at, version) " +
+                "VALUES ('Supplier', 'Budget', '1500000001', 'supplier@example.com', 'Company', false, ?, 0)", now);
+        jdbcTemplate.update("INSERT INTO clients (first_name, last_name, dni, deleted, updated_at, version) " +
+                "VALUES ('Client', 'Budget', '20000001', false, ?, 0)", now);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO products (number, name, stock, bar_code, price, description, category, deleted, user_id, supplier_id, updated_at, version) " +
+                    "VALUES (?, ?, 1000, ?, 10.5, 'Budget test product', 'Category', false, 1, 1, ?, 0)",
+                    "PROD-" + i, "Product " + i, String.valueOf(100_000_000_000L + i), now);
+        }
+    }
+
+    @Test
+    void everySaleRouteStaysWithinItsStatementBudget() throws Exception {
+        LocalDate today = LocalDate.now();
+        String from = today.minusDays(1).format(DATE);
+        String to = today.plusDays(1).format(DATE);
+
+        double oneLine = call("POST /sales", post("/sales").contentType(MediaType.APPLICATION_JSON).content(sale(1)));
+        double allLines = call("POST /sales", post("/sales").contentType(MediaType.APPLICATION_JSON).content(sale(PRODUCTS)));
+        assertThat(allLines).as("statements of a sale of %d lines against a sale of one line", PRODUCTS).isEqualTo(oneLine);
+        call("POST /sales/batch", post("/sales/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + sale(2) + "," + sale(3) + "," + sale(1) + "]"));
+        call("POST /sales/async", post("/sales/async").contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "budget-1").content(sale(1)));
+        call("GET /sales/async/{idempotencyKey}", get("/sales/async/{idempotencyKey}", "budget-1"));
+        call("GET /sales/{id}", get("/sales/{id}", 1));
+        call("GET /sales", get("/sales"));
+        call("GET /sales/changes", get("/sales/changes"));
+        call("GET /sales/between", get("/sales/between")
+                .param("startDate", LocalDateTime.now().minusDays(1).format(DATE_TIME))
+                .param("endDate", LocalDateTime.now().plusDays(1).format(DATE_TIME)));
+        call("GET /sales/client/{clientId}", get("/sales/client/{clientId}", 1));
+        call("GET /sales/user/{userId}", get("/sales/user/{userId}", 1));
+        call("GET /sales/month", get("/sales/month")
+                .param("year", String.valueOf(today.getYear()))
+                .param("month", String.valueOf(today.getMonthValue())));
+        call("GET /sales/year", get("/sales/year").param("year", String.valueOf(today.getYear())));
+        call("GET /sales/product/{productId}", get("/sales/product/{productId}", 1));
+        call("GET /sales/summary", get("/sales/summary").param("startDate", from).param("endDate", to));
+        call("GET /sales/summary/daily", get("/sales/summary/daily").param("startDate", from).param("endDate", to));
+        call("DELETE /sales/{id}", delete("/sales/{id}", 1));
+
+        assertThat(called)
+                .as("routes of inventory.sql-budget.routes without a call in this test")
+                .containsExactlyInAnyOrderElementsOf(sqlBudget.getRoutes().keySet());
+    }
+
+    private double call(String route, MockHttpServletRequestBuilder request) throws Exception {
+        String[] methodAndUri = route.split(" ", 2);
+        Integer budget = sqlBudget.budgetOf(methodAndUri[0], methodAndUri[1]);
+        assertThat(budget).as("budget of %s", route).isNotNull();
+
+        double before = statements(methodAndUri[0], methodAndUri[1]);
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus())
+                .as("status of %s: %s", route, result.getResponse().getContentAsString())
+                .isBetween(200, 299);
+        double statements = statements(methodAndUri[0], methodAndUri[1]) - before;
+        assertThat(statements)
+                .as("SQL statements of %s", route)
+                .isLessThanOrEqualTo(budget);
+        assertThat(meterRegistry.find("inventory.http.statements.over.budget")
+                .tags("method", methodAndUri[0], "uri", methodAndUri[1]).counter())
+                .as("over budget counter of %s", route)
+                .isNull();
+        called.add(route);
+        return statements;
+    }
+
+    private double statements(String method, String uri) {
+        DistributionSummary summary = meterRegistry.find("inventory.http.statements")
+                .tags("method", method, "uri", uri).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private static String sale(int lines) {
+        StringBuilder details = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            if (i > 1) {
+                details.append(',');
+            }
+            details.append("{\"amount\":1,\"product\":{\"id\":").append(i).append("}}");
+        }
+        return "{\"userId\":1,\"clientId\":1,\"saleDetail\":[" + details + "]}";
+    }
+}
@@ -0,0 +1,111 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.entity.OutboxEvent;
+import ar.com.manager.inventory.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each test builds its own relay over the repository, the scheduled one only runs once at startup.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "inventory.outbox.enabled=true",
+        "inventory.outbox.relay-interval=3600000",
+        "inventory.outbox.purge-interval=3600000"})
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void relayMarksTheEventsOnlyAfterTheSinkAcceptsThem() {
+        List<Long> ids = addEvents(3);
+        List<Long> relayed = new ArrayList<>();
+        OutboxSink sink = events -> {
+            assertThat(unpublished()).as("unpublished while the sink publishes them").containsAll(ids(events));
+            relayed.addAll(ids(events));
+        };
+
+        relay(sink, 2, 24).relay();
+
+        assertThat(relayed).containsExactlyElementsOf(ids);
+        assertThat(unpublished()).isEmpty();
+    }
+
+    @Test
+    void failedPublishLeavesTheEventsToBeRelayedAgain() {
+        List<Long> ids = addEvents(2);
+
+        relay(events -> {
+            throw new IllegalStateException("Sink unavailable");
+        }, 10, 24).relay();
+        assertThat(unpublished()).containsExactlyElementsOf(ids);
+
+        InMemoryOutboxSink sink = new InMemoryOutboxSink(10);
+        relay(sink, 10, 24).relay();
+        assertThat(ids(sink.getEvents())).containsExactlyElementsOf(ids);
+        assertThat(unpublished()).isEmpty();
+    }
+
+    @Test
+    void purgeDeletesOnlyTheEventsPublishedBeforeTheRetention() {
+        List<Long> ids = addEvents(3);
+        published(ids.get(0), LocalDateTime.now().minusHours(3));
+        published(ids.get(1), LocalDateTime.now().minusMinutes(10));
+
+        relay(new InMemoryOutboxSink(10), 10, 0).purge();
+        assertThat(ids(outboxEventRepository.findAll())).containsExactlyInAnyOrderElementsOf(ids);
+
+        relay(new InMemoryOutboxSink(10), 10, 1).purge();
+        assertThat(ids(outboxEventRepository.findAll())).containsExactlyInAnyOrder(ids.get(1), ids.get(2));
+    }
+
+    private OutboxRelay relay(OutboxSink sink, int batchSize, int retentionHours) {
+        return new OutboxRelay(outboxEventRepository, sink, new SimpleMeterRegistry(), batchSize, retentionHours);
+    }
+
+    private List<Long> addEvents(int count) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            events.add(new OutboxEvent(OutboxEvent.PRODUCT, i, OutboxEvent.PRODUCT_UPDATED, "{}", LocalDateTime.now()));
+        }
+        outboxEventRepository.addAll(events);
+        return ids(outboxEventRepository.findAll()).stream().sorted().toList();
+    }
+
+    private void published(Long id, LocalDateTime publishedAt) {
+        jdbcTemplate.update("UPDATE outbox_events SET published_at = ? WHERE id = ?", Timestamp.valueOf(publishedAt), id);
+    }
+
+    private List<Long> unpublished() {
+        return ids(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(100)));
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
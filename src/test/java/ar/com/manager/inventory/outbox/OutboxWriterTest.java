@@ -0,0 +1,81 @@
+package ar.com.manager.inventory.outbox;
+
+import ar.com.manager.inventory.TestData;
+import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.SaleDetailDto;
+import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.entity.OutboxEvent;
+import ar.com.manager.inventory.repository.OutboxEventRepository;
+import ar.com.manager.inventory.service.SaleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:outbox-writer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "inventory.outbox.enabled=true",
+        "inventory.outbox.relay-interval=3600000"})
+@ActiveProfiles("test")
+class OutboxWriterTest {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void saleWritesTheStockChangeOfEachProductSold() throws Exception {
+        TestData testData = new TestData(jdbcTemplate);
+        int userId = testData.user();
+        int twice = testData.product(userId, 10, 5.0);
+        int once = testData.product(userId, 10, 5.0);
+
+        SaleDto sale = new SaleDto();
+        sale.setUserId(userId);
+        sale.setClientId(testData.client());
+        sale.setSaleDetail(new ArrayList<>(List.of(line(twice, 2), line(once, 1), line(twice, 3))));
+        Integer saleId = saleService.addSale(sale).getId();
+
+        assertThat(events(OutboxEvent.SALE_CREATED, saleId)).hasSize(1);
+        assertStockChanged(twice, -5, 5);
+        assertStockChanged(once, -1, 9);
+    }
+
+    private void assertStockChanged(int productId, int delta, int stock) throws Exception {
+        List<OutboxEvent> events = events(OutboxEvent.STOCK_CHANGED, productId);
+        assertThat(events).hasSize(1);
+        JsonNode payload = objectMapper.readTree(events.get(0).getPayload());
+        assertThat(payload.get("productId").asInt()).isEqualTo(productId);
+        assertThat(payload.get("delta").asInt()).as("delta of product %d", productId).isEqualTo(delta);
+        assertThat(payload.get("stock").asInt()).as("stock of product %d", productId).isEqualTo(stock);
+    }
+
+    private List<OutboxEvent> events(String eventType, Integer aggregateId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType().equals(eventType) && event.getAggregateId().equals(aggregateId))
+                .toList();
+    }
+
+    private static SaleDetailDto line(int productId, int amount) {
+        ProductDto product = new ProductDto();
+        product.setId(productId);
+        return new SaleDetailDto(null, amount, product);
+    }
+}
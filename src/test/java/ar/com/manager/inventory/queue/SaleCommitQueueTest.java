@@ -0,0 +1,121 @@
+package ar.com.manager.inventory.queue;
+
+import ar.com.manager.inventory.dto.SaleBatchResultDto;
+import ar.com.manager.inventory.dto.SaleCommitStatusDto;
+import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.exception.QueueFullException;
+import ar.com.manager.inventory.service.SaleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The queue is built without Spring over a SaleService that creates each sale with its user id as the sale id,
+ * and fails every batch that has a sale of BROKEN_USER.
+ */
+class SaleCommitQueueTest {
+
+    private static final int BROKEN_USER = 99;
+
+    private final SaleService saleService = mock(SaleService.class);
+    private SaleCommitQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop();
+    }
+
+    @Test
+    void resubmitWithTheSameKeyDoesNotEnqueueTheSaleAgain() throws InterruptedException {
+        stubSaleService();
+        queue = queue(10);
+
+        SaleCommitStatusDto first = queue.submit("key-1", sale(1));
+        assertThat(queue.submit("key-1", sale(1))).isSameAs(first);
+        assertThat(first.getStatus()).isEqualTo(SaleCommitStatusDto.PENDING);
+
+        queue.start();
+        SaleCommitStatusDto created = await("key-1");
+        assertThat(created.getStatus()).isEqualTo(SaleCommitStatusDto.CREATED);
+        assertThat(queue.submit("key-1", sale(1))).isSameAs(created);
+        verify(saleService, times(1)).addSales(anyList());
+    }
+
+    @Test
+    void fullQueueRejectsTheSaleAndForgetsItsKey() {
+        queue = queue(1);
+        queue.submit("key-1", sale(1));
+
+        assertThatThrownBy(() -> queue.submit("key-2", sale(2))).isInstanceOf(QueueFullException.class);
+        assertThat(queue.getStatus("key-2")).isNull();
+        assertThat(queue.getStatus("key-1").getStatus()).isEqualTo(SaleCommitStatusDto.PENDING);
+        verify(saleService, never()).addSales(anyList());
+    }
+
+    @Test
+    void failedBatchIsCommittedOneSaleAtATime() throws InterruptedException {
+        stubSaleService();
+        queue = queue(10);
+        //Enqueued before the worker starts, so they are taken as a single batch
+        queue.submit("key-1", sale(1));
+        queue.submit("key-broken", sale(BROKEN_USER));
+        queue.submit("key-3", sale(3));
+
+        queue.start();
+
+        assertThat(await("key-1").getSaleId()).isEqualTo(1);
+        assertThat(await("key-broken").getStatus()).isEqualTo(SaleCommitStatusDto.FAILED);
+        assertThat(await("key-3").getSaleId()).isEqualTo(3);
+        assertThat(queue.getStatus("key-1").getStatus()).isEqualTo(SaleCommitStatusDto.CREATED);
+        verify(saleService, times(4)).addSales(anyList());
+
+        //A failed sale is enqueued again when the client retries with its key
+        assertThat(queue.submit("key-broken", sale(BROKEN_USER)).getStatus()).isEqualTo(SaleCommitStatusDto.PENDING);
+    }
+
+    private SaleCommitQueue queue(int capacity) {
+        return new SaleCommitQueue(saleService, new SimpleMeterRegistry(), capacity, 10, 1, 60);
+    }
+
+    private void stubSaleService() {
+        when(saleService.addSales(anyList())).thenAnswer(invocation -> {
+            List<SaleDto> sales = invocation.getArgument(0);
+            if (sales.stream().anyMatch(sale -> sale.getUserId() == BROKEN_USER)) {
+                throw new IllegalStateException("Broken sale");
+            }
+            List<SaleBatchResultDto> results = new ArrayList<>();
+            for (int i = 0; i < sales.size(); i++) {
+                results.add(SaleBatchResultDto.created(i, sales.get(i).getUserId(), 10.0));
+            }
+            return results;
+        });
+    }
+
+    private SaleCommitStatusDto await(String idempotencyKey) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        SaleCommitStatusDto status = queue.getStatus(idempotencyKey);
+        while (SaleCommitStatusDto.PENDING.equals(status.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = queue.getStatus(idempotencyKey);
+        }
+        return status;
+    }
+
+    private static SaleDto sale(int userId) {
+        SaleDto sale = new SaleDto();
+        sale.setUserId(userId);
+        return sale;
+    }
+}
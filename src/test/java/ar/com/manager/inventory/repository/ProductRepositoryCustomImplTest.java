@@ -0,0 +1,82 @@
+package ar.com.manager.inventory.repository;
+
+import ar.com.manager.inventory.TestData;
+import ar.com.manager.inventory.entity.Client;
+import ar.com.manager.inventory.entity.Product;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product-repository;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("test")
+class ProductRepositoryCustomImplTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(jdbcTemplate);
+    }
+
+    @Test
+    void decrementStockOnlyDetachesTheProductsItChanged() {
+        int userId = testData.user();
+        int clientId = testData.client();
+        int sold = testData.product(userId, 10, 5.0);
+        int other = testData.product(userId, 10, 5.0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Client client = clientRepository.findById(clientId).orElseThrow();
+            Product soldProduct = productRepository.findById(sold).orElseThrow();
+            Product otherProduct = productRepository.findById(other).orElseThrow();
+
+            assertThat(productRepository.decrementStock(Map.of(sold, 3))).isEqualTo(1);
+
+            assertThat(entityManager.contains(client)).isTrue();
+            assertThat(entityManager.contains(otherProduct)).isTrue();
+            assertThat(entityManager.contains(soldProduct)).isFalse();
+        });
+
+        assertThat(testData.stock(sold)).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM products WHERE id = ?", Long.class, sold)).isEqualTo(1L);
+    }
+
+    @Test
+    void decrementStockSkipsProductsWithoutEnoughStock() {
+        int userId = testData.user();
+        int enough = testData.product(userId, 5, 5.0);
+        int lacking = testData.product(userId, 1, 5.0);
+
+        int updated = transactionTemplate.execute(status -> productRepository.decrementStock(Map.of(enough, 2, lacking, 2)));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(testData.stock(enough)).isEqualTo(3);
+        assertThat(testData.stock(lacking)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package ar.com.manager.inventory.service.impl;
+
+import ar.com.manager.inventory.TestData;
+import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.index.ProductSearchIndex;
+import ar.com.manager.inventory.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-memory product indexes follow the committed catalog: a change rolled back by the caller leaves them as they were.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product-service;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("test")
+class ProductServiceImplTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = new TestData(jdbcTemplate).user();
+    }
+
+    @Test
+    void rolledBackProductIsNotIndexed() {
+        ProductDto product = product("Rolledback" + NAMES.incrementAndGet());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.addProduct(product);
+            assertThat(indexed(product.getName())).isFalse();
+            status.setRollbackOnly();
+        });
+
+        assertThat(indexed(product.getName())).isFalse();
+    }
+
+    @Test
+    void committedProductIsIndexedAndItsRolledBackDeleteKeepsIt() {
+        ProductDto product = product("Committed" + NAMES.incrementAndGet());
+
+        Integer id = productService.addProduct(product).getId();
+        assertThat(indexed(product.getName())).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.deleteProduct(id);
+            status.setRollbackOnly();
+        });
+        assertThat(indexed(product.getName())).isTrue();
+
+        productService.deleteProduct(id);
+        assertThat(indexed(product.getName())).isFalse();
+    }
+
+    private boolean indexed(String name) {
+        return productSearchIndex.search(name, 0, 10).getTotal() > 0;
+    }
+
+    private ProductDto product(String name) {
+        int n = NAMES.incrementAndGet();
+        ProductDto product = new ProductDto();
+        product.setNumber("INDEX-" + n);
+        product.setName(name);
+        product.setStock(10);
+        product.setBarCode(String.valueOf(400_000_000_000L + n));
+        product.setPrice(5.0);
+        product.setDescription("Index test product");
+        product.setCategory("Category");
+        product.setUserId(userId);
+        return product;
+    }
+}
@@ -0,0 +1,118 @@
+package ar.com.manager.inventory.service.impl;
+
+import ar.com.manager.inventory.TestData;
+import ar.com.manager.inventory.dto.ProductDto;
+import ar.com.manager.inventory.dto.SaleBatchResultDto;
+import ar.com.manager.inventory.dto.SaleDetailDto;
+import ar.com.manager.inventory.dto.SaleDto;
+import ar.com.manager.inventory.entity.SalesDailyRollup;
+import ar.com.manager.inventory.repository.SalesDailyRollupRepository;
+import ar.com.manager.inventory.service.SaleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:sale-service;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("test")
+class SaleServiceImplTest {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData testData;
+    private int userId;
+    private int clientId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(jdbcTemplate);
+        userId = testData.user();
+        clientId = testData.client();
+    }
+
+    @Test
+    void batchSaleOfAnUnknownClientLeavesTheStockUnchanged() {
+        int sold = testData.product(userId, 10, 5.0);
+        int rejected = testData.product(userId, 10, 5.0);
+
+        List<SaleBatchResultDto> results = saleService.addSales(List.of(
+                sale(userId, clientId, sold, 2),
+                sale(userId, Integer.MAX_VALUE, rejected, 3)));
+
+        assertThat(results).extracting(SaleBatchResultDto::getStatus)
+                .containsExactly(SaleBatchResultDto.CREATED, SaleBatchResultDto.REJECTED);
+        assertThat(testData.stock(sold)).isEqualTo(8);
+        assertThat(testData.stock(rejected)).isEqualTo(10);
+    }
+
+    @Test
+    void batchSaleRejectedAfterAnotherKeepsTheStockOfTheSameProduct() {
+        int product = testData.product(userId, 10, 5.0);
+
+        List<SaleBatchResultDto> results = saleService.addSales(List.of(
+                sale(userId, Integer.MAX_VALUE, product, 4),
+                sale(userId, clientId, product, 10)));
+
+        //The first sale is rejected before taking its units, so the second one still finds the 10 in stock
+        assertThat(results).extracting(SaleBatchResultDto::getStatus)
+                .containsExactly(SaleBatchResultDto.REJECTED, SaleBatchResultDto.CREATED);
+        assertThat(testData.stock(product)).isZero();
+    }
+
+    @Test
+    void deletedSaleTakesOffTheRevenueItAddedAfterAPriceChange() {
+        int product = testData.product(userId, 10, 5.0);
+        Integer saleId = saleService.addSale(sale(userId, clientId, product, 2)).getId();
+        jdbcTemplate.update("UPDATE products SET price = 8.0 WHERE id = ?", product);
+
+        saleService.deleteSale(saleId);
+
+        assertThat(revenue(product)).isZero();
+        assertThat(revenue(SalesDailyRollup.ALL_PRODUCTS)).isZero();
+    }
+
+    @Test
+    void rebuiltRollupKeepsThePriceOfTheSale() {
+        int product = testData.product(userId, 10, 5.0);
+        saleService.addSale(sale(userId, clientId, product, 2));
+        jdbcTemplate.update("UPDATE products SET price = 8.0 WHERE id = ?", product);
+
+        salesDailyRollupRepository.rebuild();
+
+        assertThat(revenue(product)).isEqualTo(10.0);
+        assertThat(revenue(SalesDailyRollup.ALL_PRODUCTS)).isEqualTo(10.0);
+    }
+
+    private double revenue(int productId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(revenue), 0) FROM sales_daily_rollup WHERE user_id = ? AND product_id = ?",
+                Double.class, userId, productId);
+    }
+
+    static SaleDto sale(Integer userId, Integer clientId, int productId, int amount) {
+        ProductDto product = new ProductDto();
+        product.setId(productId);
+        List<SaleDetailDto> details = new ArrayList<>();
+        details.add(new SaleDetailDto(null, amount, product));
+        SaleDto sale = new SaleDto();
+        sale.setUserId(userId);
+        sale.setClientId(clientId);
+        sale.setSaleDetail(details);
+        return sale;
+    }
+}
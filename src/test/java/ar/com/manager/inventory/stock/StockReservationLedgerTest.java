@@ -0,0 +1,132 @@
+package ar.com.manager.inventory.stock;
+
+import ar.com.manager.inventory.TestData;
+import ar.com.manager.inventory.entity.Product;
+import ar.com.manager.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The flush only runs when a test calls it: the scheduled one fires once at startup, before any product exists.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:stock-ledger;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "inventory.stock-ledger.enabled=true",
+        "inventory.stock-ledger.flush-interval=3600000"})
+@ActiveProfiles("test")
+class StockReservationLedgerTest {
+
+    @Autowired
+    private StockReservationLedger ledger;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData testData;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(jdbcTemplate);
+        userId = testData.user();
+    }
+
+    @Test
+    void reconcileKeepsTheUnitsReservedAndNotYetCommitted() {
+        int product = testData.product(userId, 10, 5.0);
+        assertThat(reserve(product, 3)).isTrue();
+
+        ledger.reconcile(product);
+        assertThat(ledger.available(product)).isEqualTo(7);
+
+        ledger.commit(Map.of(product, 3));
+        assertThat(reserve(product, 8)).isFalse();
+        assertThat(ledger.available(product)).isEqualTo(7);
+
+        ledger.flush();
+        assertThat(testData.stock(product)).isEqualTo(7);
+        ledger.reconcile(product);
+        assertThat(ledger.available(product)).isEqualTo(7);
+    }
+
+    @Test
+    void releasedUnitsAreAvailableAgain() {
+        int product = testData.product(userId, 10, 5.0);
+        assertThat(reserve(product, 4)).isTrue();
+
+        ledger.release(Map.of(product, 4));
+        ledger.reconcile(product);
+
+        assertThat(ledger.available(product)).isEqualTo(10);
+        ledger.flush();
+        assertThat(testData.stock(product)).isEqualTo(10);
+    }
+
+    @Test
+    void reserveTakesEveryProductOrNone() {
+        int enough = testData.product(userId, 10, 5.0);
+        int lacking = testData.product(userId, 1, 5.0);
+
+        Map<Integer, Integer> quantities = new HashMap<>();
+        quantities.put(enough, 5);
+        quantities.put(lacking, 2);
+        Map<Integer, Product> products = new HashMap<>();
+        products.put(enough, productRepository.findById(enough).orElseThrow());
+        products.put(lacking, productRepository.findById(lacking).orElseThrow());
+
+        assertThat(ledger.reserve(quantities, products)).isFalse();
+        assertThat(ledger.available(enough)).isEqualTo(10);
+        assertThat(ledger.available(lacking)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileAddsARestockToThePendingUnits() {
+        int product = testData.product(userId, 10, 5.0);
+        assertThat(reserve(product, 3)).isTrue();
+        ledger.commit(Map.of(product, 3));
+
+        jdbcTemplate.update("UPDATE products SET stock = stock + 5 WHERE id = ?", product);
+        ledger.reconcile(product);
+        assertThat(ledger.available(product)).isEqualTo(12);
+
+        ledger.flush();
+        assertThat(testData.stock(product)).isEqualTo(12);
+        assertThat(ledger.available(product)).isEqualTo(12);
+    }
+
+    @Test
+    void flushKeepsPendingTheUnitsItCouldNotWrite() {
+        int product = testData.product(userId, 10, 5.0);
+        assertThat(reserve(product, 5)).isTrue();
+        ledger.commit(Map.of(product, 5));
+
+        //The stock was lowered outside the ledger and not reconciled, so the table can't take the 5 units
+        jdbcTemplate.update("UPDATE products SET stock = 3 WHERE id = ?", product);
+        ledger.flush();
+        assertThat(testData.stock(product)).isEqualTo(3);
+        assertThat(ledger.available(product)).isEqualTo(-2);
+
+        jdbcTemplate.update("UPDATE products SET stock = 20 WHERE id = ?", product);
+        ledger.reconcile(product);
+        ledger.flush();
+        assertThat(testData.stock(product)).isEqualTo(15);
+        assertThat(ledger.available(product)).isEqualTo(15);
+    }
+
+    private boolean reserve(int productId, int amount) {
+        return ledger.reserve(Map.of(productId, amount), Map.of(productId, productRepository.findById(productId).orElseThrow()));
+    }
+}
@@ -0,0 +1,52 @@
+package ar.com.manager.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtilTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    @Test
+    void formatsLikeTheFormatterOnTheEdgeYears() {
+        int[] years = {-10_000, -1, 0, 1, 9, 99, 999, 1000, 1970, 2025, 9999, 10_000, 123_456};
+        for (int year : years) {
+            LocalDateTime dateTime = LocalDateTime.of(year, 1, 2, 3, 4, 5);
+            assertThat(Util.localDateTimeToString(dateTime)).as("year %d", year).isEqualTo(FORMATTER.format(dateTime));
+        }
+    }
+
+    @Test
+    void formatsLikeTheFormatterOnRandomDates() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000));
+            assertThat(Util.localDateTimeToString(dateTime)).isEqualTo(FORMATTER.format(dateTime));
+        }
+    }
+
+    @Test
+    void appendsToTheGivenBuffer() {
+        StringBuilder buffer = new StringBuilder("at ");
+        Util.appendLocalDateTime(buffer, LocalDateTime.of(2025, 5, 21, 14, 30, 0));
+        assertThat(buffer).hasToString("at 21/05/2025 14:30:00");
+    }
+
+    @Test
+    void parsesWhatItFormats() {
+        LocalDateTime dateTime = LocalDateTime.of(2025, 12, 31, 23, 59, 59);
+        assertThat(Util.stringToLocalDateTime(Util.localDateTimeToString(dateTime))).isEqualTo(dateTime);
+    }
+
+    @Test
+    void keepsNull() {
+        assertThat(Util.localDateTimeToString(null)).isNull();
+        assertThat(Util.stringToLocalDateTime(null)).isNull();
+    }
+}